@@ -0,0 +1,106 @@
+package dev.langchain4j.community.rag.content.retriever.lucene.benchmark;
+
+import dev.langchain4j.community.rag.content.retriever.lucene.DirectoryFactory;
+import dev.langchain4j.community.rag.content.retriever.lucene.LuceneEmbeddingStore;
+import dev.langchain4j.community.rag.content.retriever.lucene.LuceneIndex;
+import dev.langchain4j.community.rag.content.retriever.lucene.VectorQuantization;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.lucene.store.Directory;
+
+/**
+ * Lucene index in a temporary directory, filled with a synthetic corpus. The directory is deleted when the
+ * index is closed.
+ */
+final class BenchmarkIndex implements Closeable {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final Path path;
+    private final Directory directory;
+    private final LuceneIndex index;
+
+    /**
+     * Create an index, and add documents in batches, so that large corpora do not need to fit in memory.
+     *
+     * @param corpus             Synthetic corpus
+     * @param size               Number of documents
+     * @param vectorQuantization Vector quantization
+     */
+    BenchmarkIndex(SyntheticCorpus corpus, int size, VectorQuantization vectorQuantization) {
+        try {
+            path = Files.createTempDirectory("lucene-benchmark");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        directory = DirectoryFactory.fsDirectory(path);
+        index = LuceneIndex.builder()
+                .directory(directory)
+                .vectorQuantization(vectorQuantization)
+                .ramBufferSizeMB(256)
+                .build();
+        try (LuceneEmbeddingStore store = store(false)) {
+            for (int from = 0; from < size; from = from + BATCH_SIZE) {
+                List<TextSegment> textSegments = corpus.textSegments(from, Math.min(size, from + BATCH_SIZE));
+                List<Embedding> embeddings = corpus.embeddings(textSegments);
+                store.bulkAddAll(null, embeddings, textSegments);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Shared Lucene index.
+     *
+     * @return Lucene index
+     */
+    LuceneIndex index() {
+        return index;
+    }
+
+    /**
+     * Embedding store over the index.
+     *
+     * @param returnEmbeddings Whether search results include embedding vectors
+     * @return Embedding store
+     */
+    LuceneEmbeddingStore store(boolean returnEmbeddings) {
+        return LuceneEmbeddingStore.builder()
+                .index(index)
+                .returnEmbeddings(returnEmbeddings)
+                .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            index.close();
+            directory.close();
+        } finally {
+            deleteRecursively(path);
+        }
+    }
+
+    /**
+     * Delete a temporary directory and its contents.
+     *
+     * @param path Directory path
+     * @throws IOException When files cannot be deleted
+     */
+    static void deleteRecursively(Path path) throws IOException {
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path file : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.langchain4j.community.rag.content.retriever.lucene.benchmark;
+
+import dev.langchain4j.community.rag.content.retriever.lucene.LuceneEmbeddingStore;
+import dev.langchain4j.community.rag.content.retriever.lucene.VectorQuantization;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of getting the embeddings of search results: reading them back from the index vector values, or
+ * searching without them and embedding the matched text again. The fake embedding model is almost free,
+ * so re-embedding here is a lower bound; a real embedding model adds a network round-trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class EmbeddingReadBackBenchmark {
+
+    private static final int QUERY_COUNT = 100;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"384"})
+    public int dimension;
+
+    @Param({"10"})
+    public int maxResults;
+
+    private SyntheticCorpus corpus;
+    private BenchmarkIndex benchmarkIndex;
+    private List<Embedding> queryEmbeddings;
+    private LuceneEmbeddingStore readBackStore;
+    private LuceneEmbeddingStore store;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createIndex() {
+        corpus = new SyntheticCorpus(42, 50_000, 4, dimension);
+        benchmarkIndex = new BenchmarkIndex(corpus, size, VectorQuantization.NONE);
+        queryEmbeddings = corpus.embeddings(
+                corpus.queries(QUERY_COUNT).stream().map(TextSegment::from).toList());
+        readBackStore = benchmarkIndex.store(true);
+        store = benchmarkIndex.store(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeIndex() throws IOException {
+        benchmarkIndex.close();
+    }
+
+    @Benchmark
+    public List<EmbeddingMatch<TextSegment>> readBack() {
+        return readBackStore.search(nextRequest()).matches();
+    }
+
+    @Benchmark
+    public List<Embedding> reEmbed() {
+        List<TextSegment> textSegments = store.search(nextRequest()).matches().stream()
+                .map(EmbeddingMatch::embedded)
+                .toList();
+        return corpus.embeddings(textSegments);
+    }
+
+    private EmbeddingSearchRequest nextRequest() {
+        next = (next + 1) % QUERY_COUNT;
+        return EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbeddings.get(next))
+                .maxResults(maxResults)
+                .build();
+    }
+}
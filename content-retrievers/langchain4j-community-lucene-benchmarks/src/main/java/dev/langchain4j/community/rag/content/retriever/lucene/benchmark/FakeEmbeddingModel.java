@@ -0,0 +1,54 @@
+package dev.langchain4j.community.rag.content.retriever.lucene.benchmark;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Embedding model that derives a unit vector from the hash of the text, so benchmarks do not need a model
+ * or network access. The same text always has the same embedding.
+ */
+final class FakeEmbeddingModel implements EmbeddingModel {
+
+    private final int dimension;
+
+    /**
+     * @param dimension Dimension of embedding vectors
+     */
+    FakeEmbeddingModel(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        List<Embedding> embeddings = new ArrayList<>(textSegments.size());
+        for (TextSegment textSegment : textSegments) {
+            embeddings.add(embed(textSegment.text().hashCode()));
+        }
+        return Response.from(embeddings);
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    private Embedding embed(long seed) {
+        Random random = new Random(seed);
+        float[] vector = new float[dimension];
+        double norm = 0;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm = norm + vector[i] * vector[i];
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = vector[i] * scale;
+        }
+        return Embedding.from(vector);
+    }
+}
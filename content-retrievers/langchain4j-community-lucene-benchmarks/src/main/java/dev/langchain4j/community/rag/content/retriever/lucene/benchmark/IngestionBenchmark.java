@@ -0,0 +1,95 @@
+package dev.langchain4j.community.rag.content.retriever.lucene.benchmark;
+
+import dev.langchain4j.community.rag.content.retriever.lucene.BulkIngestionResult;
+import dev.langchain4j.community.rag.content.retriever.lucene.DirectoryFactory;
+import dev.langchain4j.community.rag.content.retriever.lucene.LuceneEmbeddingStore;
+import dev.langchain4j.community.rag.content.retriever.lucene.LuceneIndex;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.lucene.store.Directory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to ingest a corpus into an empty index, with `addAll` in batches (committing every batch), or with
+ * multi-threaded `bulkAddAll`. The corpus is generated before measuring.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class IngestionBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"128"})
+    public int dimension;
+
+    private List<TextSegment> textSegments;
+    private List<Embedding> embeddings;
+    private Path path;
+    private Directory directory;
+    private LuceneIndex index;
+    private LuceneEmbeddingStore store;
+
+    @Setup(Level.Trial)
+    public void createCorpus() {
+        SyntheticCorpus corpus = new SyntheticCorpus(42, 50_000, 4, dimension);
+        textSegments = corpus.textSegments(0, size);
+        embeddings = corpus.embeddings(textSegments);
+    }
+
+    @Setup(Level.Iteration)
+    public void createIndex() throws IOException {
+        path = Files.createTempDirectory("lucene-benchmark");
+        directory = DirectoryFactory.fsDirectory(path);
+        index = LuceneIndex.builder().directory(directory).ramBufferSizeMB(256).build();
+        store = LuceneEmbeddingStore.builder().index(index).build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeIndex() throws IOException {
+        try {
+            store.close();
+            index.close();
+            directory.close();
+        } finally {
+            BenchmarkIndex.deleteRecursively(path);
+        }
+    }
+
+    @Benchmark
+    public int addAll() {
+        for (int from = 0; from < size; from = from + BATCH_SIZE) {
+            int to = Math.min(size, from + BATCH_SIZE);
+            store.addAll(null, embeddings.subList(from, to), textSegments.subList(from, to));
+        }
+        return size;
+    }
+
+    @Benchmark
+    public BulkIngestionResult bulkAddAll() {
+        return store.bulkAddAll(null, embeddings, textSegments);
+    }
+}
@@ -0,0 +1,101 @@
+package dev.langchain4j.community.rag.content.retriever.lucene.benchmark;
+
+import dev.langchain4j.community.rag.content.retriever.lucene.LuceneContentRetriever;
+import dev.langchain4j.community.rag.content.retriever.lucene.VectorQuantization;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of fetching hits with large metadata: all stored fields, only projected metadata keys, and token
+ * counts from stored fields or doc values. Every hit has many metadata fields.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class MetadataFetchBenchmark {
+
+    private static final int QUERY_COUNT = 100;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"50"})
+    public int metadataFields;
+
+    @Param({"50"})
+    public int maxResults;
+
+    private BenchmarkIndex benchmarkIndex;
+    private List<Query> queries;
+    private LuceneContentRetriever allMetadataRetriever;
+    private LuceneContentRetriever projectedRetriever;
+    private LuceneContentRetriever storedTokenCountRetriever;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createIndex() {
+        SyntheticCorpus corpus = new SyntheticCorpus(42, 50_000, metadataFields, 16);
+        benchmarkIndex = new BenchmarkIndex(corpus, size, VectorQuantization.NONE);
+        queries = corpus.queries(QUERY_COUNT).stream().map(Query::from).toList();
+
+        allMetadataRetriever = LuceneContentRetriever.builder()
+                .index(benchmarkIndex.index())
+                .maxResults(maxResults)
+                .build();
+        projectedRetriever = LuceneContentRetriever.builder()
+                .index(benchmarkIndex.index())
+                .metadataKeys(List.of("name"))
+                .maxResults(maxResults)
+                .build();
+        storedTokenCountRetriever = LuceneContentRetriever.builder()
+                .index(benchmarkIndex.index())
+                .metadataKeys(List.of("name"))
+                .tokenCountsFromDocValues(false)
+                .maxResults(maxResults)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeIndex() throws IOException {
+        benchmarkIndex.close();
+    }
+
+    @Benchmark
+    public List<Content> allMetadata() {
+        return allMetadataRetriever.retrieve(nextQuery());
+    }
+
+    @Benchmark
+    public List<Content> projectedMetadata() {
+        return projectedRetriever.retrieve(nextQuery());
+    }
+
+    @Benchmark
+    public List<Content> projectedMetadataStoredTokenCounts() {
+        return storedTokenCountRetriever.retrieve(nextQuery());
+    }
+
+    private Query nextQuery() {
+        next = (next + 1) % QUERY_COUNT;
+        return queries.get(next);
+    }
+}
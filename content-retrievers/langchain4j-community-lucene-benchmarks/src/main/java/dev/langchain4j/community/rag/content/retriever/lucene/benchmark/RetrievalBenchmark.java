@@ -0,0 +1,137 @@
+package dev.langchain4j.community.rag.content.retriever.lucene.benchmark;
+
+import dev.langchain4j.community.rag.content.retriever.lucene.FusionStrategy;
+import dev.langchain4j.community.rag.content.retriever.lucene.LuceneContentRetriever;
+import dev.langchain4j.community.rag.content.retriever.lucene.LuceneEmbeddingStore;
+import dev.langchain4j.community.rag.content.retriever.lucene.VectorQuantization;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Query latency for full-text (BM25) only, vector only, and hybrid retrieval, and with concurrent readers
+ * sharing one index. Every thread cycles through the same fixed set of queries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class RetrievalBenchmark {
+
+    private static final int QUERY_COUNT = 100;
+
+    /**
+     * Position in the query list, per benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class QueryCursor {
+
+        private int next;
+
+        int next() {
+            next = (next + 1) % QUERY_COUNT;
+            return next;
+        }
+    }
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"128"})
+    public int dimension;
+
+    @Param({"10"})
+    public int maxResults;
+
+    private BenchmarkIndex benchmarkIndex;
+    private List<Query> queries;
+    private List<Embedding> queryEmbeddings;
+    private LuceneContentRetriever fullTextRetriever;
+    private LuceneContentRetriever hybridRetriever;
+    private LuceneContentRetriever reciprocalRankRetriever;
+    private LuceneEmbeddingStore store;
+
+    @Setup(Level.Trial)
+    public void createIndex() {
+        SyntheticCorpus corpus = new SyntheticCorpus(42, 50_000, 4, dimension);
+        benchmarkIndex = new BenchmarkIndex(corpus, size, VectorQuantization.NONE);
+
+        List<String> queryTexts = corpus.queries(QUERY_COUNT);
+        queries = queryTexts.stream().map(Query::from).toList();
+        queryEmbeddings =
+                corpus.embeddings(queryTexts.stream().map(TextSegment::from).toList());
+
+        fullTextRetriever = LuceneContentRetriever.builder()
+                .index(benchmarkIndex.index())
+                .maxResults(maxResults)
+                .build();
+        hybridRetriever = LuceneContentRetriever.builder()
+                .index(benchmarkIndex.index())
+                .embeddingModel(corpus.embeddingModel())
+                .maxResults(maxResults)
+                .build();
+        reciprocalRankRetriever = LuceneContentRetriever.builder()
+                .index(benchmarkIndex.index())
+                .embeddingModel(corpus.embeddingModel())
+                .fusionStrategy(FusionStrategy.RECIPROCAL_RANK)
+                .maxResults(maxResults)
+                .build();
+        store = benchmarkIndex.store(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeIndex() throws IOException {
+        benchmarkIndex.close();
+    }
+
+    @Benchmark
+    public List<Content> fullText(QueryCursor cursor) {
+        return fullTextRetriever.retrieve(queries.get(cursor.next()));
+    }
+
+    @Benchmark
+    public EmbeddingSearchResult<TextSegment> vector(QueryCursor cursor) {
+        return store.search(EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbeddings.get(cursor.next()))
+                .maxResults(maxResults)
+                .build());
+    }
+
+    @Benchmark
+    public List<Content> hybrid(QueryCursor cursor) {
+        return hybridRetriever.retrieve(queries.get(cursor.next()));
+    }
+
+    @Benchmark
+    public List<Content> hybridReciprocalRank(QueryCursor cursor) {
+        return reciprocalRankRetriever.retrieve(queries.get(cursor.next()));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Content> hybridConcurrentReaders(QueryCursor cursor) {
+        return hybridRetriever.retrieve(queries.get(cursor.next()));
+    }
+}
@@ -0,0 +1,131 @@
+package dev.langchain4j.community.rag.content.retriever.lucene.benchmark;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic corpus, so that benchmarks run offline and results can be compared over time.
+ * Words follow a skewed distribution, so that full-text scoring sees both common and rare terms.
+ * Documents and queries only depend on the seed and their position.
+ */
+final class SyntheticCorpus {
+
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ne", "ru", "sa", "ti", "vo", "ze", "an", "el", "or", "us", "ib", "ex", "ph"
+    };
+
+    private final long seed;
+    private final String[] vocabulary;
+    private final int metadataFields;
+    private final FakeEmbeddingModel embeddingModel;
+
+    /**
+     * @param seed           Seed for all generated content
+     * @param vocabularySize Number of distinct words
+     * @param metadataFields Number of metadata fields per document, in addition to the name
+     * @param dimension      Dimension of embedding vectors
+     */
+    SyntheticCorpus(long seed, int vocabularySize, int metadataFields, int dimension) {
+        this.seed = seed;
+        this.metadataFields = metadataFields;
+        this.embeddingModel = new FakeEmbeddingModel(dimension);
+        Random random = new Random(seed);
+        vocabulary = new String[vocabularySize];
+        for (int i = 0; i < vocabularySize; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int j = 0; j < syllables; j++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary[i] = word.append(i).toString();
+        }
+    }
+
+    /**
+     * Embedding model for this corpus.
+     *
+     * @return Deterministic embedding model
+     */
+    FakeEmbeddingModel embeddingModel() {
+        return embeddingModel;
+    }
+
+    /**
+     * Generate a document.
+     *
+     * @param i Document position
+     * @return Text segment with metadata
+     */
+    TextSegment textSegment(int i) {
+        Random random = new Random(seed * 31 + i);
+        String text = words(random, 50 + random.nextInt(150));
+
+        Metadata metadata = new Metadata();
+        metadata.put("name", "doc" + i);
+        for (int field = 0; field < metadataFields; field++) {
+            if (field % 2 == 0) {
+                metadata.put("field" + field, words(random, 20));
+            } else {
+                metadata.put("field" + field, random.nextLong());
+            }
+        }
+        return TextSegment.from(text, metadata);
+    }
+
+    /**
+     * Generate documents.
+     *
+     * @param from First document position, inclusive
+     * @param to   Last document position, exclusive
+     * @return Text segments
+     */
+    List<TextSegment> textSegments(int from, int to) {
+        List<TextSegment> textSegments = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            textSegments.add(textSegment(i));
+        }
+        return textSegments;
+    }
+
+    /**
+     * Embed documents.
+     *
+     * @param textSegments Text segments
+     * @return Embeddings, in the same order
+     */
+    List<Embedding> embeddings(List<TextSegment> textSegments) {
+        return embeddingModel.embedAll(textSegments).content();
+    }
+
+    /**
+     * Generate short queries, with a few words each.
+     *
+     * @param count Number of queries
+     * @return Query texts
+     */
+    List<String> queries(int count) {
+        Random random = new Random(-seed);
+        List<String> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            queries.add(words(random, 2 + random.nextInt(3)));
+        }
+        return queries;
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            // Skewed towards the start of the vocabulary
+            double skew = Math.pow(random.nextDouble(), 3);
+            text.append(vocabulary[(int) (skew * vocabulary.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,150 @@
+package dev.langchain4j.community.rag.content.retriever.lucene.benchmark;
+
+import dev.langchain4j.community.rag.content.retriever.lucene.LuceneEmbeddingStore;
+import dev.langchain4j.community.rag.content.retriever.lucene.VectorQuantization;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vector search latency with and without scalar quantization, and with oversampled rescoring. Recall
+ * against an exact brute-force search is printed at the end of each trial, since JMH only reports time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class VectorQuantizationBenchmark {
+
+    private static final int QUERY_COUNT = 100;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"384"})
+    public int dimension;
+
+    @Param({"NONE", "INT8", "INT4"})
+    public VectorQuantization vectorQuantization;
+
+    @Param({"1", "4"})
+    public int vectorOversample;
+
+    @Param({"10"})
+    public int maxResults;
+
+    private SyntheticCorpus corpus;
+    private BenchmarkIndex benchmarkIndex;
+    private List<Embedding> queryEmbeddings;
+    private LuceneEmbeddingStore store;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createIndex() {
+        corpus = new SyntheticCorpus(42, 50_000, 0, dimension);
+        benchmarkIndex = new BenchmarkIndex(corpus, size, vectorQuantization);
+        queryEmbeddings = corpus.embeddings(
+                corpus.queries(QUERY_COUNT).stream().map(TextSegment::from).toList());
+        store = LuceneEmbeddingStore.builder()
+                .index(benchmarkIndex.index())
+                .vectorOversample(vectorOversample)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void reportRecall() throws IOException {
+        try {
+            System.out.printf(
+                    "%nRecall@%d for %s with oversample %d: %.3f%n",
+                    maxResults, vectorQuantization, vectorOversample, recall());
+        } finally {
+            benchmarkIndex.close();
+        }
+    }
+
+    @Benchmark
+    public List<EmbeddingMatch<TextSegment>> search() {
+        next = (next + 1) % QUERY_COUNT;
+        return store.search(request(queryEmbeddings.get(next))).matches();
+    }
+
+    private EmbeddingSearchRequest request(Embedding queryEmbedding) {
+        return EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .maxResults(maxResults)
+                .build();
+    }
+
+    /**
+     * Average fraction of the exact nearest neighbors found by the index, over all queries.
+     */
+    private double recall() {
+        List<float[]> vectors = new ArrayList<>(size);
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TextSegment textSegment = corpus.textSegment(i);
+            vectors.add(corpus.embeddings(List.of(textSegment)).get(0).vector());
+            names.add(textSegment.metadata().getString("name"));
+        }
+
+        double found = 0;
+        for (Embedding queryEmbedding : queryEmbeddings) {
+            Set<String> exact = exactNearest(queryEmbedding.vector(), vectors, names);
+            for (EmbeddingMatch<TextSegment> match :
+                    store.search(request(queryEmbedding)).matches()) {
+                if (exact.contains(match.embedded().metadata().getString("name"))) {
+                    found = found + 1;
+                }
+            }
+        }
+        return found / (queryEmbeddings.size() * maxResults);
+    }
+
+    private Set<String> exactNearest(float[] query, List<float[]> vectors, List<String> names) {
+        // Min-heap of the best scores so far
+        PriorityQueue<Integer> nearest = new PriorityQueue<>(
+                (a, b) -> Float.compare(dotProduct(query, vectors.get(a)), dotProduct(query, vectors.get(b))));
+        for (int i = 0; i < vectors.size(); i++) {
+            nearest.add(i);
+            if (nearest.size() > maxResults) {
+                nearest.poll();
+            }
+        }
+        Set<String> result = new HashSet<>();
+        for (int i : nearest) {
+            result.add(names.get(i));
+        }
+        return result;
+    }
+
+    private static float dotProduct(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum = sum + a[i] * b[i];
+        }
+        return sum;
+    }
+}
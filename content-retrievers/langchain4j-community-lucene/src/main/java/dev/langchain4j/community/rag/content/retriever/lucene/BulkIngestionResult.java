@@ -0,0 +1,26 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a bulk ingestion into a `LuceneEmbeddingStore`.
+ *
+ * @param indexed Number of documents indexed
+ * @param failed  Number of documents that could not be indexed
+ * @param elapsed Time taken, including the final commit
+ */
+public record BulkIngestionResult(int indexed, int failed, Duration elapsed) {
+
+    /**
+     * Ingestion throughput.
+     *
+     * @return Documents indexed per second
+     */
+    public double documentsPerSecond() {
+        long nanos = elapsed.toNanos();
+        if (nanos <= 0) {
+            return 0;
+        }
+        return indexed * 1_000_000_000.0 / nanos;
+    }
+}
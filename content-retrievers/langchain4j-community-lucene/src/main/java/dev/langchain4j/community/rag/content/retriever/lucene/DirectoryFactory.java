@@ -5,7 +5,10 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Set;
+import org.apache.lucene.store.ByteBuffersDirectory;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FileSwitchDirectory;
 import org.apache.lucene.store.MMapDirectory;
 
 /**
@@ -29,6 +32,39 @@ public class DirectoryFactory {
         }
     }
 
+    /**
+     * Create a memory mapped file-system based directory, which loads files with the given extensions into
+     * physical memory when they are opened. This avoids page faults on the first queries after startup,
+     * for example with vector ("vec", "vex", "veq") and postings ("tim", "tip", "doc", "pos") files. Small
+     * segments are written as compound files ("cfs"). Preloaded files need to fit in physical memory.
+     *
+     * @param directoryPath     Path for the directory.
+     * @param preloadExtensions File extensions to preload, without the dot
+     * @return Lucene directory
+     */
+    public static Directory fsDirectory(Path directoryPath, Set<String> preloadExtensions) {
+        ensureNotNull(directoryPath, "directoryPath");
+        Set<String> extensions = Set.copyOf(ensureNotNull(preloadExtensions, "preloadExtensions"));
+        try {
+            MMapDirectory directory = new MMapDirectory(directoryPath);
+            directory.setPreload(
+                    (fileName, context) -> extensions.contains(FileSwitchDirectory.getExtension(fileName)));
+            return directory;
+        } catch (Exception e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create a heap based directory, for tests, or small indexes that fit fully in memory. The index is
+     * lost when the directory is closed.
+     *
+     * @return Lucene directory
+     */
+    public static Directory memoryDirectory() {
+        return new ByteBuffersDirectory();
+    }
+
     /**
      * Create a memory mapped file-system based directory, in a temporary directory.
      *
@@ -0,0 +1,22 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+/**
+ * How full-text and embedding vector search results are combined in a hybrid search.
+ */
+public enum FusionStrategy {
+    /**
+     * Run a single Lucene query, with full-text and vector queries as optional clauses, so that BM25 and
+     * vector similarity scores are summed *
+     */
+    COMBINED_QUERY,
+    /**
+     * Run full-text and vector queries separately, and fuse the results by Reciprocal Rank Fusion, which
+     * only uses the rank of each hit, and not its score *
+     */
+    RECIPROCAL_RANK,
+    /**
+     * Run full-text and vector queries separately, normalize the scores of each to between 0 and 1, and
+     * fuse the results by a weighted sum of the normalized scores *
+     */
+    WEIGHTED_SCORE
+}
@@ -3,7 +3,6 @@ package dev.langchain4j.community.rag.content.retriever.lucene;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
-import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
@@ -11,17 +10,29 @@ import dev.langchain4j.model.output.Response;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.content.ContentMetadata;
 import dev.langchain4j.rag.content.retriever.ContentRetriever;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
-import org.apache.lucene.document.Document;
-import org.apache.lucene.document.StoredValue;
-import org.apache.lucene.document.StoredValue.Type;
 import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.SoftDeletesDirectoryReaderWrapper;
+import org.apache.lucene.index.SortedNumericDocValues;
 import org.apache.lucene.index.StoredFields;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
@@ -33,8 +44,9 @@ import org.apache.lucene.search.KnnFloatVectorQuery;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.Sort;
-import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.store.Directory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,7 +54,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Full-text content retrieval using Apache Lucene for LangChain4J RAG.
  */
-public final class LuceneContentRetriever implements ContentRetriever {
+public final class LuceneContentRetriever implements ContentRetriever, AutoCloseable {
 
     /**
      * Builder for `LuceneContentRetriever`.
@@ -50,7 +62,9 @@ public final class LuceneContentRetriever implements ContentRetriever {
     public static class LuceneContentRetrieverBuilder {
 
         private Directory directory;
+        private LuceneIndex index;
         private EmbeddingModel embeddingModel;
+        private Filter filter;
         private boolean onlyMatches;
         private int maxResults;
         private int maxTokens;
@@ -58,6 +72,20 @@ public final class LuceneContentRetriever implements ContentRetriever {
         private String contentFieldName;
         private String tokenCountFieldName;
         private String embeddingFieldName;
+        private FusionStrategy fusionStrategy;
+        private int rankConstant;
+        private double vectorWeight;
+        private int vectorOversample;
+        private Executor executor;
+        private int maxDocsPerSlice;
+        private int maxSegmentsPerSlice;
+        private Set<String> metadataKeys;
+        private boolean tokenCountsFromDocValues;
+        private QueryEmbeddingCache queryEmbeddingCache;
+        private Analyzer analyzer;
+        private int parsedQueryCacheSize;
+        private int maxSearchPages;
+        private RetrievalListener listener;
 
         private LuceneContentRetrieverBuilder() {
             // Set defaults
@@ -68,6 +96,16 @@ public final class LuceneContentRetriever implements ContentRetriever {
             contentFieldName = LuceneDocumentFields.CONTENT_FIELD_NAME.fieldName();
             tokenCountFieldName = LuceneDocumentFields.TOKEN_COUNT_FIELD_NAME.fieldName();
             embeddingFieldName = LuceneDocumentFields.EMBEDDING_FIELD_NAME.fieldName();
+            fusionStrategy = FusionStrategy.COMBINED_QUERY;
+            rankConstant = 60;
+            vectorWeight = 0.5;
+            vectorOversample = 1;
+            parsedQueryCacheSize = 100;
+            maxSearchPages = 10;
+            tokenCountsFromDocValues = true;
+            // Lucene defaults
+            maxDocsPerSlice = 250_000;
+            maxSegmentsPerSlice = 5;
         }
 
         /**
@@ -76,19 +114,53 @@ public final class LuceneContentRetriever implements ContentRetriever {
          * @return New instance of `LuceneContentRetriever`
          */
         public LuceneContentRetriever build() {
-            if (directory == null) {
+            if (index == null && directory == null) {
                 directory = DirectoryFactory.tempDirectory();
             }
+            Analyzer queryAnalyzer = analyzer;
+            if (queryAnalyzer == null) {
+                queryAnalyzer = index == null ? new StandardAnalyzer() : index.analyzer();
+            }
             return new LuceneContentRetriever(
+                    index,
                     directory,
                     embeddingModel,
+                    filter,
                     onlyMatches,
                     maxResults,
                     maxTokens,
                     minScore,
                     contentFieldName,
                     tokenCountFieldName,
-                    embeddingFieldName);
+                    embeddingFieldName,
+                    fusionStrategy,
+                    rankConstant,
+                    vectorWeight,
+                    vectorOversample,
+                    executor,
+                    maxDocsPerSlice,
+                    maxSegmentsPerSlice,
+                    metadataKeys,
+                    tokenCountsFromDocValues,
+                    queryEmbeddingCache,
+                    queryAnalyzer,
+                    parsedQueryCacheSize,
+                    maxSearchPages,
+                    listener);
+        }
+
+        /**
+         * Sets the analyzer used to parse full-text queries. If null, the analyzer of the index is used, so
+         * that queries are analyzed the same way as the content, or a `StandardAnalyzer` if there is no
+         * index.
+         *
+         * @param analyzer Lucene analyzer
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder analyzer(Analyzer analyzer) {
+            // Can be null
+            this.analyzer = analyzer;
+            return this;
         }
 
         /**
@@ -108,7 +180,9 @@ public final class LuceneContentRetriever implements ContentRetriever {
         }
 
         /**
-         * Sets the Lucene directory. If null, a temporary file-based directory is used.
+         * Sets the Lucene directory, which is searched read-only, unless an index is set. Commits are picked up
+         * before every retrieval, so the directory can be written by another index or process, or be
+         * read-only. If null, a temporary file-based directory is used.
          *
          * @param directory Lucene directory
          * @return Builder
@@ -148,6 +222,64 @@ public final class LuceneContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * Sets an executor to search index segments concurrently, for example a virtual thread or bounded
+         * fork-join pool. Index segments are grouped into slices, and each slice is searched as a separate
+         * task. Full-text and embedding vector searches that are fused are also run concurrently. If null,
+         * searches run on the calling thread.
+         *
+         * @param executor Executor for concurrent searches
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder executor(Executor executor) {
+            // Can be null
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets a metadata filter. Only documents matching the filter are returned, and the filter is
+         * applied before the embedding vector search, so that only matching documents are considered.
+         *
+         * @param filter Metadata filter, can be null
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder filter(Filter filter) {
+            // Can be null
+            this.filter = filter;
+            return this;
+        }
+
+        /**
+         * Sets how full-text and embedding vector results are combined in a hybrid search. If null, a single
+         * combined query is used. Note that minimum scores apply to the fused score.
+         *
+         * @param fusionStrategy Fusion strategy
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder fusionStrategy(FusionStrategy fusionStrategy) {
+            if (fusionStrategy == null) {
+                this.fusionStrategy = FusionStrategy.COMBINED_QUERY;
+            } else {
+                this.fusionStrategy = fusionStrategy;
+            }
+            return this;
+        }
+
+        /**
+         * Sets the shared Lucene index, which is searched with its near-real-time searcher, so that writes
+         * are visible without a commit. If null, the directory is searched read-only. An index that is set is
+         * not closed with the retriever.
+         *
+         * @param index Lucene index
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder index(LuceneIndex index) {
+            // Can be null
+            this.index = index;
+            return this;
+        }
+
         /**
          * Provides documents until the number of max results, even if there is no good match.
          *
@@ -158,6 +290,34 @@ public final class LuceneContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * Sets the maximum number of documents in a slice of index segments searched by one task. Larger
+         * segments get their own slice. Only used with an executor.
+         *
+         * @param maxDocsPerSlice Maximum documents per slice
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder maxDocsPerSlice(int maxDocsPerSlice) {
+            if (maxDocsPerSlice > 0) {
+                this.maxDocsPerSlice = maxDocsPerSlice;
+            }
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of index segments in a slice searched by one task. Only used with an
+         * executor.
+         *
+         * @param maxSegmentsPerSlice Maximum segments per slice
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder maxSegmentsPerSlice(int maxSegmentsPerSlice) {
+            if (maxSegmentsPerSlice > 0) {
+                this.maxSegmentsPerSlice = maxSegmentsPerSlice;
+            }
+            return this;
+        }
+
         /**
          * Returns only a certain number of documents.
          *
@@ -171,6 +331,35 @@ public final class LuceneContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * Sets a listener for the per-stage timings and hit counts of every retrieval. By default, there is no
+         * listener and retrievals are not timed.
+         *
+         * @param listener Retrieval listener, or null to not time retrievals
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder listener(RetrievalListener listener) {
+            // Can be null
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of pages of hits to search, with a page size of the maximum results. More
+         * pages are searched when hits are skipped because they do not fit in the maximum token count. The
+         * embedding vector search finds enough nearest neighbors for all pages up front, except with score
+         * fusion, which only searches one page.
+         *
+         * @param maxSearchPages Maximum number of pages
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder maxSearchPages(int maxSearchPages) {
+            if (maxSearchPages > 0) {
+                this.maxSearchPages = maxSearchPages;
+            }
+            return this;
+        }
+
         /**
          * Returns documents until the maximum token limit is reached.
          *
@@ -184,6 +373,20 @@ public final class LuceneContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * Sets the metadata keys to return with the content. Only the stored fields for the content, token
+         * count and these keys are loaded, which is faster for documents with large metadata. By default,
+         * all stored fields are returned as metadata.
+         *
+         * @param metadataKeys Metadata keys to return, or null for all
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder metadataKeys(Collection<String> metadataKeys) {
+            // Can be null
+            this.metadataKeys = metadataKeys == null ? null : new HashSet<>(metadataKeys);
+            return this;
+        }
+
         /**
          * Returns values above a certain score.
          *
@@ -207,6 +410,46 @@ public final class LuceneContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * Sets the number of parsed full-text queries to cache, so that hot queries are not parsed again. Set
+         * to 0 to disable the cache.
+         *
+         * @param parsedQueryCacheSize Number of cached queries
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder parsedQueryCacheSize(int parsedQueryCacheSize) {
+            if (parsedQueryCacheSize >= 0) {
+                this.parsedQueryCacheSize = parsedQueryCacheSize;
+            }
+            return this;
+        }
+
+        /**
+         * Sets a cache for query embeddings, so that repeated queries skip the call to the embedding model.
+         * The cache should only be shared by retrievers using the same embedding model.
+         *
+         * @param queryEmbeddingCache Query embedding cache, or null to not cache
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder queryEmbeddingCache(QueryEmbeddingCache queryEmbeddingCache) {
+            // Can be null
+            this.queryEmbeddingCache = queryEmbeddingCache;
+            return this;
+        }
+
+        /**
+         * Sets the rank constant for Reciprocal Rank Fusion. Higher values reduce the weight of top ranks.
+         *
+         * @param rankConstant Rank constant
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder rankConstant(int rankConstant) {
+            if (rankConstant >= 0) {
+                this.rankConstant = rankConstant;
+            }
+            return this;
+        }
+
         /**
          * Sets the name of the token count field.
          *
@@ -222,6 +465,49 @@ public final class LuceneContentRetriever implements ContentRetriever {
 
             return this;
         }
+
+        /**
+         * Sets whether token counts are read from doc values instead of stored fields. Doc values are
+         * column-oriented, so hits that do not fit in the maximum token count are skipped without loading
+         * their stored fields. Documents without a token count in doc values, such as in indexes written
+         * with the token count only as a stored field, fall back to the stored field. Enabled by default.
+         *
+         * @param tokenCountsFromDocValues Whether to read token counts from doc values
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder tokenCountsFromDocValues(boolean tokenCountsFromDocValues) {
+            this.tokenCountsFromDocValues = tokenCountsFromDocValues;
+            return this;
+        }
+
+        /**
+         * Sets how many candidates the embedding vector search considers for every result. If greater than 1,
+         * the candidates are rescored with the full precision vectors, which recovers recall lost to vector
+         * quantization.
+         *
+         * @param vectorOversample Number of candidates for every result
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder vectorOversample(int vectorOversample) {
+            if (vectorOversample >= 1) {
+                this.vectorOversample = vectorOversample;
+            }
+            return this;
+        }
+
+        /**
+         * Sets the weight of the embedding vector score for weighted score fusion, between 0 and 1. The
+         * full-text score is weighted by the remainder.
+         *
+         * @param vectorWeight Weight of the vector score
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder vectorWeight(double vectorWeight) {
+            if (vectorWeight >= 0 && vectorWeight <= 1) {
+                this.vectorWeight = vectorWeight;
+            }
+            return this;
+        }
     }
 
     private static final Logger log = LoggerFactory.getLogger(LuceneContentRetriever.class);
@@ -235,8 +521,12 @@ public final class LuceneContentRetriever implements ContentRetriever {
         return new LuceneContentRetrieverBuilder();
     }
 
+    private final LuceneIndex index;
     private final Directory directory;
+    private volatile SearcherManager directorySearcherManager;
+    private boolean closed;
     private final EmbeddingModel embeddingModel;
+    private final Query filterQuery;
     private final boolean onlyMatches;
     private final int maxResults;
     private final int maxTokens;
@@ -244,32 +534,80 @@ public final class LuceneContentRetriever implements ContentRetriever {
     private final String contentFieldName;
     private final String tokenCountFieldName;
     private final String embeddingFieldName;
+    private final FusionStrategy fusionStrategy;
+    private final int rankConstant;
+    private final double vectorWeight;
+    private final int vectorOversample;
+    private final Executor executor;
+    private final int maxDocsPerSlice;
+    private final int maxSegmentsPerSlice;
+    private final Set<String> metadataKeys;
+    private final boolean tokenCountsFromDocValues;
+    private final QueryEmbeddingCache queryEmbeddingCache;
+    private final Analyzer analyzer;
+    private final Map<String, Query> parsedQueries;
+    private final int maxSearchPages;
+    private final RetrievalListener listener;
 
     /**
      * Initialize all fields, and do one more round of validation (even though the builder has
      * validated the fields).
      *
-     * @param directory           Lucene directory
+     * @param index               Lucene index - can be null to search the directory
+     * @param directory           Lucene directory, searched read-only if there is no index
      * @param embeddingModel      Embedding model - can be null
+     * @param filter              Metadata filter - can be null
      * @param onlyMatches         Whether to only consider matching documents
      * @param maxResults          Return only the first n matches
      * @param maxTokens           Return until a maximum token count
      * @param contentFieldName    Name of the Lucene field with the text
      * @param tokenCountFieldName Name of the Lucene field with token counts
      * @param embeddingFieldName  Name of the Lucene field with embedding vector
+     * @param fusionStrategy      How full-text and vector results are combined
+     * @param rankConstant        Rank constant for Reciprocal Rank Fusion
+     * @param vectorWeight        Weight of the vector score for weighted score fusion
+     * @param vectorOversample    Number of vector candidates to rescore for every result
+     * @param executor            Executor for concurrent searches - can be null
+     * @param maxDocsPerSlice     Maximum documents in a slice of segments searched by one task
+     * @param maxSegmentsPerSlice Maximum segments in a slice searched by one task
+     * @param metadataKeys        Metadata keys to return - can be null for all
+     * @param tokenCountsFromDocValues Whether to read token counts from doc values
+     * @param queryEmbeddingCache Query embedding cache - can be null
+     * @param analyzer            Analyzer for full-text queries
+     * @param parsedQueryCacheSize Number of parsed full-text queries to cache
+     * @param maxSearchPages      Maximum number of pages of hits to search
+     * @param listener            Listener for retrieval timings - can be null
      */
     private LuceneContentRetriever(
+            LuceneIndex index,
             Directory directory,
             EmbeddingModel embeddingModel,
+            Filter filter,
             boolean onlyMatches,
             int maxResults,
             int maxTokens,
             double minScore,
             String contentFieldName,
             String tokenCountFieldName,
-            String embeddingFieldName) {
-        this.directory = ensureNotNull(directory, "directory");
+            String embeddingFieldName,
+            FusionStrategy fusionStrategy,
+            int rankConstant,
+            double vectorWeight,
+            int vectorOversample,
+            Executor executor,
+            int maxDocsPerSlice,
+            int maxSegmentsPerSlice,
+            Set<String> metadataKeys,
+            boolean tokenCountsFromDocValues,
+            QueryEmbeddingCache queryEmbeddingCache,
+            Analyzer analyzer,
+            int parsedQueryCacheSize,
+            int maxSearchPages,
+            RetrievalListener listener) {
+        this.index = index; // Can be null
+        this.directory = index == null ? ensureNotNull(directory, "directory") : null;
         this.embeddingModel = embeddingModel; // Can be null
+        this.filterQuery = filter == null ? null : new LuceneMetadataFilterMapper().map(filter);
         this.onlyMatches = onlyMatches;
         this.maxResults = Math.max(0, maxResults);
         this.maxTokens = Math.max(0, maxTokens);
@@ -277,6 +615,20 @@ public final class LuceneContentRetriever implements ContentRetriever {
         this.contentFieldName = ensureNotBlank(contentFieldName, "contentFieldName");
         this.tokenCountFieldName = ensureNotBlank(tokenCountFieldName, "tokenCountFieldName");
         this.embeddingFieldName = ensureNotBlank(embeddingFieldName, "embeddingFieldName");
+        this.fusionStrategy = ensureNotNull(fusionStrategy, "fusionStrategy");
+        this.rankConstant = Math.max(0, rankConstant);
+        this.vectorWeight = Math.min(1, Math.max(0, vectorWeight));
+        this.vectorOversample = Math.max(1, vectorOversample);
+        this.executor = executor; // Can be null
+        this.maxDocsPerSlice = Math.max(1, maxDocsPerSlice);
+        this.maxSegmentsPerSlice = Math.max(1, maxSegmentsPerSlice);
+        this.metadataKeys = metadataKeys == null ? null : Set.copyOf(metadataKeys); // Can be null
+        this.tokenCountsFromDocValues = tokenCountsFromDocValues;
+        this.queryEmbeddingCache = queryEmbeddingCache; // Can be null
+        this.analyzer = ensureNotNull(analyzer, "analyzer");
+        this.parsedQueries = parsedQueryCacheSize <= 0 ? null : lruCache(parsedQueryCacheSize);
+        this.maxSearchPages = Math.max(1, maxSearchPages);
+        this.listener = listener; // Can be null
     }
 
     /**
@@ -284,6 +636,55 @@ public final class LuceneContentRetriever implements ContentRetriever {
      */
     @Override
     public List<Content> retrieve(dev.langchain4j.rag.query.Query query) {
+        return retrieve(query, null);
+    }
+
+    /**
+     * Close the reader opened to search the directory. An index set on the builder is left open.
+     *
+     * @throws IOException When the reader cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        SearcherManager searcherManager;
+        synchronized (this) {
+            closed = true;
+            searcherManager = directorySearcherManager;
+            directorySearcherManager = null;
+        }
+        if (searcherManager != null) {
+            searcherManager.close();
+        }
+    }
+
+    /**
+     * Run representative queries, for example at startup, so that index files are paged in and caches are
+     * filled before the first user query. Results are discarded.
+     *
+     * @param queries Representative user queries
+     * @return Time taken to run the queries
+     */
+    public Duration warmUp(Collection<dev.langchain4j.rag.query.Query> queries) {
+        ensureNotNull(queries, "queries");
+        long start = System.nanoTime();
+        for (dev.langchain4j.rag.query.Query query : queries) {
+            retrieve(query);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Warmed up with {} queries in {} ms", queries.size(), elapsed.toMillis());
+        return elapsed;
+    }
+
+    /**
+     * Retrieve content, and optionally read back the indexed embedding vectors of the hits. Vectors are read
+     * from the index vector values, so no stored field is needed.
+     *
+     * @param query      User query
+     * @param embeddings List to add the embedding of each hit to, in the same order as the content, with
+     *                   null for hits without an embedding. If null, embeddings are not read.
+     * @return Retrieved content
+     */
+    List<Content> retrieve(dev.langchain4j.rag.query.Query query, List<Embedding> embeddings) {
         String queryText;
         if (query == null) {
             queryText = null;
@@ -291,149 +692,431 @@ public final class LuceneContentRetriever implements ContentRetriever {
             queryText = query.text();
         }
 
-        int docCount = 0;
+        if (maxResults == 0) {
+            return Collections.emptyList();
+        }
+
+        // Only read the clock when somebody is listening
+        boolean timed = listener != null;
+        long embedNanos = 0;
+        long parseNanos = 0;
+        long searchNanos = 0;
+        long loadNanos = 0;
+        int skippedForTokens = 0;
+        int skippedBelowMinScore = 0;
+        int pages = 0;
+
         int tokenCount = 0;
-        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+        IndexSearcher searcher = null;
+        try {
+            searcher = acquireSearcher();
+            if (searcher == null) {
+                log.debug("No index in the directory yet");
+                return Collections.emptyList();
+            }
+            IndexSearcher concurrentSearcher = concurrentSearcher(searcher);
 
+            long start = timed ? System.nanoTime() : 0;
             Embedding embedding = embedQuery(queryText);
-            Query luceneQuery = buildQuery(queryText, embedding);
+            if (timed) {
+                embedNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+            }
+            Query fullTextQuery = buildFullTextQuery(queryText);
+            // Later pages need neighbors below the first page, but only hits skipped for the maximum token
+            // count lead to more pages, and fused results are not paged
+            boolean paged = maxTokens < Integer.MAX_VALUE
+                    && (fusionStrategy == FusionStrategy.COMBINED_QUERY || fullTextQuery == null);
+            int vectorHits = paged ? (int) Math.min(Integer.MAX_VALUE, (long) maxResults * maxSearchPages) : maxResults;
+            Query vectorQuery = buildVectorQuery(embedding, vectorHits);
+            boolean fused =
+                    fusionStrategy != FusionStrategy.COMBINED_QUERY && fullTextQuery != null && vectorQuery != null;
+            Query combinedQuery = fused ? null : buildQuery(fullTextQuery, vectorQuery);
+            if (timed) {
+                parseNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+            }
+            // Rewrite once, so that the vector search is not repeated for every page
+            if (!fused) {
+                combinedQuery = concurrentSearcher.rewrite(combinedQuery);
+            }
 
-            IndexSearcher searcher = new IndexSearcher(reader);
-            TopFieldDocs topDocs = searcher.search(luceneQuery, maxResults, Sort.RELEVANCE, true);
             List<Content> hits = new ArrayList<>();
-            StoredFields storedFields = reader.storedFields();
-            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
-                if (scoreDoc.score < minScore) {
-                    continue;
+            StoredFields storedFields = searcher.storedFields();
+            ScoreDoc after = null;
+            for (int page = 0; page < maxSearchPages && hits.size() < maxResults; page++) {
+                ScoreDoc[] scoreDocs;
+                if (fused) {
+                    scoreDocs = fuse(concurrentSearcher, fullTextQuery, vectorQuery);
+                } else {
+                    scoreDocs = concurrentSearcher.searchAfter(after, combinedQuery, maxResults, Sort.RELEVANCE, true)
+                            .scoreDocs;
                 }
-                // Retrieve document contents
-                Document document = storedFields.document(scoreDoc.doc);
-                String content = document.get(contentFieldName);
-                if (content == null || content.isBlank()) {
-                    continue;
+                pages++;
+                if (timed) {
+                    searchNanos = searchNanos + System.nanoTime() - start;
+                    start = System.nanoTime();
                 }
 
-                // Check if number of documents is exceeded
-                docCount = docCount + 1;
-                if (docCount > maxResults) {
-                    break;
-                }
+                for (ScoreDoc scoreDoc : scoreDocs) {
+                    if (scoreDoc.score < minScore) {
+                        skippedBelowMinScore++;
+                        continue;
+                    }
+
+                    // Check token count before loading the document, if token counts are in doc values
+                    Integer docTokens = null;
+                    if (tokenCountsFromDocValues) {
+                        docTokens = readTokenCount(searcher, scoreDoc.doc);
+                        if (docTokens != null && tokenCount + docTokens > maxTokens) {
+                            skippedForTokens++;
+                            continue;
+                            // There may be smaller documents to come after this that we can accommodate
+                        }
+                    }
 
-                // Check token count
-                IndexableField tokenCountField = document.getField(tokenCountFieldName);
-                if (tokenCountField != null) {
-                    int docTokens = tokenCountField.numericValue().intValue();
-                    if (tokenCount + docTokens > maxTokens) {
+                    // Retrieve only the needed document fields, including the stored token count if it
+                    // was not in doc values
+                    ProjectedFieldsVisitor visitor = new ProjectedFieldsVisitor(
+                            contentFieldName, docTokens == null ? tokenCountFieldName : null, metadataKeys);
+                    storedFields.document(scoreDoc.doc, visitor);
+                    String content = visitor.content();
+                    if (content == null || content.isBlank()) {
                         continue;
-                        // There may be smaller documents to come after this that we can accommodate
                     }
-                    tokenCount = tokenCount + docTokens;
+
+                    // Check stored token count
+                    if (docTokens == null) {
+                        docTokens = visitor.tokenCount();
+                        if (docTokens != null && tokenCount + docTokens > maxTokens) {
+                            skippedForTokens++;
+                            continue;
+                        }
+                    }
+                    if (docTokens != null) {
+                        tokenCount = tokenCount + docTokens;
+                    }
+
+                    // Finally, add text segment to the list, with the requested fields as metadata
+                    TextSegment textSegment = TextSegment.from(content, visitor.metadata());
+                    hits.add(Content.from(textSegment, withScore(scoreDoc)));
+                    if (embeddings != null) {
+                        embeddings.add(readEmbedding(searcher, scoreDoc.doc));
+                    }
+
+                    // Check if number of documents is reached
+                    if (hits.size() >= maxResults) {
+                        break;
+                    }
+                }
+                if (timed) {
+                    loadNanos = loadNanos + System.nanoTime() - start;
+                    start = System.nanoTime();
                 }
 
-                // Add all other document fields to metadata
-                Metadata metadata = createTextSegmentMetadata(document);
+                // Fused results cannot be paged, and there are no more hits after a partial page, or
+                // above the minimum score after a lower scoring hit
+                if (fused
+                        || scoreDocs.length < maxResults
+                        || scoreDocs[scoreDocs.length - 1].score < minScore
+                        || tokenCount >= maxTokens) {
+                    break;
+                }
+                after = scoreDocs[scoreDocs.length - 1];
+            }
 
-                // Finally, add text segment to the list
-                TextSegment textSegment = TextSegment.from(content, metadata);
-                hits.add(Content.from(textSegment, withScore(scoreDoc)));
+            if (timed) {
+                notifyListener(new RetrievalMetrics(
+                        Duration.ofNanos(embedNanos),
+                        Duration.ofNanos(parseNanos),
+                        Duration.ofNanos(searchNanos),
+                        Duration.ofNanos(loadNanos),
+                        hits.size(),
+                        skippedForTokens,
+                        skippedBelowMinScore,
+                        pages));
             }
             return hits;
         } catch (Throwable e) {
             // Catch Throwable, since Lucene can throw AssertionError
             log.error(String.format("Could not query <%s>", query), e);
             return Collections.emptyList();
+        } finally {
+            releaseSearcher(searcher);
         }
     }
 
     /**
-     * Build a Lucene hybrid full-text and embedding vector query.
+     * Acquire a searcher, from the shared index, or from the reader of the directory after picking up new
+     * commits. Must be released with `releaseSearcher`.
      *
-     * @param query     User prompt
-     * @param embedding User prompt embedding vector, or null if not available
-     * @return Lucene query
-     * @throws ParseException When the query cannot be parsed into terms
+     * @return Index searcher, or null if there is no index in the directory yet
+     * @throws IOException When the searcher cannot be acquired
      */
-    private Query buildQuery(String query, Embedding embedding) {
-        Builder builder = new BooleanQuery.Builder();
+    private IndexSearcher acquireSearcher() throws IOException {
+        if (index != null) {
+            return index.acquireSearcher();
+        }
+        SearcherManager searcherManager = directorySearcherManager();
+        if (searcherManager == null) {
+            return null;
+        }
+        // Does not wait if another retrieval is already refreshing
+        searcherManager.maybeRefresh();
+        return searcherManager.acquire();
+    }
+
+    private void releaseSearcher(IndexSearcher searcher) {
+        if (index != null) {
+            index.releaseSearcher(searcher);
+            return;
+        }
+        if (searcher == null) {
+            return;
+        }
+        try {
+            // Same as releasing it to its searcher manager, which may be closed by now
+            searcher.getIndexReader().decRef();
+        } catch (IOException e) {
+            log.warn("Could not release searcher", e);
+        }
+    }
 
-        if (query != null && !query.isBlank()) {
-            try {
-                QueryParser parser = new QueryParser(contentFieldName, new StandardAnalyzer());
-                Query fullTextQuery = parser.parse(query);
-                builder.add(fullTextQuery, Occur.SHOULD);
-            } catch (ParseException e) {
-                log.warn(String.format("Could not create query <%s>", query), e);
+    /**
+     * Open the reader of the directory on first use, once the directory has an index. Soft-deleted
+     * documents are hidden, like in the searcher of the index.
+     *
+     * @return Searcher manager, or null if there is no index in the directory yet
+     * @throws IOException When the reader cannot be opened
+     */
+    private SearcherManager directorySearcherManager() throws IOException {
+        SearcherManager searcherManager = directorySearcherManager;
+        if (searcherManager != null) {
+            return searcherManager;
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new AlreadyClosedException("Retriever is closed");
             }
+            if (directorySearcherManager == null && DirectoryReader.indexExists(directory)) {
+                DirectoryReader reader = new SoftDeletesDirectoryReaderWrapper(
+                        DirectoryReader.open(directory), LuceneIndex.SOFT_DELETES_FIELD_NAME);
+                directorySearcherManager = new SearcherManager(reader, null);
+            }
+            return directorySearcherManager;
+        }
+    }
+
+    private void notifyListener(RetrievalMetrics metrics) {
+        try {
+            listener.onRetrieval(metrics);
+        } catch (RuntimeException e) {
+            // A failing listener should not fail the retrieval
+            log.warn("Retrieval listener failed", e);
+        }
+    }
+
+    /**
+     * Search for the top hits by fusing separate full-text and embedding vector searches.
+     *
+     * @param searcher      Index searcher
+     * @param fullTextQuery Full-text query
+     * @param vectorQuery   Embedding vector query
+     * @return Top hits, in rank order
+     * @throws IOException When the index cannot be searched
+     */
+    private ScoreDoc[] fuse(IndexSearcher searcher, Query fullTextQuery, Query vectorQuery) throws IOException {
+        // Run both searches as tasks, so that they are concurrent if there is an executor
+        Query textQuery = buildQuery(fullTextQuery, null);
+        List<Callable<ScoreDoc[]>> searches = List.of(
+                () -> searcher.search(textQuery, maxResults).scoreDocs,
+                () -> searcher.search(vectorQuery, maxResults).scoreDocs);
+        List<ScoreDoc[]> results = searcher.getTaskExecutor().invokeAll(searches);
+        ScoreDoc[] textHits = results.get(0);
+        ScoreDoc[] vectorHits = results.get(1);
+        if (fusionStrategy == FusionStrategy.RECIPROCAL_RANK) {
+            return ScoreFusion.reciprocalRank(textHits, vectorHits, rankConstant, maxResults);
         } else {
+            return ScoreFusion.weightedScore(textHits, vectorHits, vectorWeight, maxResults);
+        }
+    }
+
+    /**
+     * Wrap a searcher, so that it searches slices of index segments concurrently using the executor.
+     *
+     * @param searcher Index searcher
+     * @return Concurrent index searcher, or the same searcher if there is no executor
+     */
+    private IndexSearcher concurrentSearcher(IndexSearcher searcher) {
+        if (executor == null) {
+            return searcher;
+        }
+        return new IndexSearcher(searcher.getIndexReader(), executor) {
+            @Override
+            protected LeafSlice[] slices(List<LeafReaderContext> leaves) {
+                return slices(leaves, maxDocsPerSlice, maxSegmentsPerSlice);
+            }
+        };
+    }
+
+    /**
+     * Build a Lucene full-text query.
+     *
+     * @param query User prompt
+     * @return Lucene query, or null if the query is not provided or cannot be parsed
+     */
+    private Query buildFullTextQuery(String query) {
+        if (query == null || query.isBlank()) {
             log.debug("Query text not provided");
+            return null;
+        }
+        if (parsedQueries != null) {
+            Query cached = parsedQueries.get(query);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        try {
+            // Query parsers are not thread-safe, but are cheap compared to the shared analyzer
+            QueryParser parser = new QueryParser(contentFieldName, analyzer);
+            Query parsed = parser.parse(query);
+            if (parsedQueries != null) {
+                // Lucene queries are immutable, so they can be shared between searches
+                parsedQueries.put(query, parsed);
+            }
+            return parsed;
+        } catch (ParseException e) {
+            log.warn(String.format("Could not create query <%s>", query), e);
+            return null;
+        }
+    }
+
+    /**
+     * Build a Lucene embedding vector query, pre-filtered by the metadata filter.
+     *
+     * @param embedding User prompt embedding vector, or null if not available
+     * @param k         Number of nearest neighbors to find
+     * @return Lucene query, or null if the embedding is not provided
+     */
+    private Query buildVectorQuery(Embedding embedding, int k) {
+        if (embedding == null || embedding.vector().length == 0) {
+            log.debug("Query embedding vector not provided");
+            return null;
         }
+        if (vectorOversample > 1) {
+            return new RescoringKnnFloatVectorQuery(
+                    embeddingFieldName, embedding.vector(), k, vectorOversample, filterQuery);
+        }
+        return new KnnFloatVectorQuery(embeddingFieldName, embedding.vector(), k, filterQuery);
+    }
+
+    /**
+     * Build a Lucene hybrid full-text and embedding vector query.
+     *
+     * @param fullTextQuery Full-text query, or null if not available
+     * @param vectorQuery   Embedding vector query, or null if not available
+     * @return Lucene query
+     */
+    private Query buildQuery(Query fullTextQuery, Query vectorQuery) {
+        Builder builder = new BooleanQuery.Builder();
 
-        if (embedding != null && embedding.vector().length > 0) {
-            final Query vectorQuery = new KnnFloatVectorQuery(embeddingFieldName, embedding.vector(), maxResults);
+        if (fullTextQuery != null) {
+            builder.add(fullTextQuery, Occur.SHOULD);
+        }
+        if (vectorQuery != null) {
             builder.add(vectorQuery, Occur.SHOULD);
-        } else {
-            log.debug("Query embedding vector not provided", query);
         }
 
         if (!onlyMatches) {
             builder.add(new MatchAllDocsQuery(), Occur.SHOULD);
-            log.debug("Returning all documents, not just matches", query);
+            log.debug("Returning all documents, not just matches");
         }
 
         BooleanQuery combinedQuery = builder.build();
-        return combinedQuery;
+        if (filterQuery == null) {
+            return combinedQuery;
+        }
+        return new BooleanQuery.Builder()
+                .add(combinedQuery, Occur.MUST)
+                .add(filterQuery, Occur.FILTER)
+                .build();
     }
 
     /**
-     * Map Lucene document fields as metadata, preserving types as much as possible.
+     * Read the token count of a document from the doc values of its segment.
      *
-     * @param document Lucene document
-     * @return Text segment metadata
+     * @param searcher Index searcher
+     * @param doc      Document id
+     * @return Token count, or null if the document does not have one
+     * @throws IOException When the doc values cannot be read
      */
-    private Metadata createTextSegmentMetadata(Document document) {
-        Metadata metadata = new Metadata();
-        for (IndexableField field : document) {
-            String fieldName = field.name();
-            if (contentFieldName.equals(fieldName)) {
-                continue;
-            }
+    private Integer readTokenCount(IndexSearcher searcher, int doc) throws IOException {
+        List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+        SortedNumericDocValues docValues = DocValues.getSortedNumeric(leaf.reader(), tokenCountFieldName);
+        if (!docValues.advanceExact(doc - leaf.docBase)) {
+            return null;
+        }
+        return (int) docValues.nextValue();
+    }
 
-            StoredValue storedValue = field.storedValue();
-            Type type = storedValue.getType();
-            switch (type) {
-                case INTEGER:
-                    metadata.put(fieldName, storedValue.getIntValue());
-                    break;
-                case LONG:
-                    metadata.put(fieldName, storedValue.getLongValue());
-                    break;
-                case FLOAT:
-                    metadata.put(fieldName, storedValue.getFloatValue());
-                    break;
-                case DOUBLE:
-                    metadata.put(fieldName, storedValue.getDoubleValue());
-                    break;
-                case STRING:
-                    metadata.put(fieldName, storedValue.getStringValue());
-                    break;
-                default:
-                    // No-op
-            }
+    /**
+     * Read the indexed embedding vector of a document from the vector values of its segment.
+     *
+     * @param searcher Index searcher
+     * @param doc      Document id
+     * @return Embedding, or null if the document does not have one
+     * @throws IOException When the vector values cannot be read
+     */
+    private Embedding readEmbedding(IndexSearcher searcher, int doc) throws IOException {
+        List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+        FloatVectorValues vectorValues = leaf.reader().getFloatVectorValues(embeddingFieldName);
+        if (vectorValues == null) {
+            return null;
         }
-        return metadata;
+        int leafDoc = doc - leaf.docBase;
+        if (vectorValues.advance(leafDoc) != leafDoc) {
+            return null;
+        }
+        // Vector values may reuse the array, so copy it
+        return Embedding.from(vectorValues.vectorValue().clone());
     }
 
     private Embedding embedQuery(String queryText) {
+        if (embeddingModel == null) {
+            return null;
+        }
+        if (queryEmbeddingCache == null || queryText == null) {
+            return embedQueryWithModel(queryText);
+        }
+        return queryEmbeddingCache.get(queryText, this::embedQueryWithModel);
+    }
+
+    private Embedding embedQueryWithModel(String queryText) {
         Embedding embedding = null;
-        if (embeddingModel != null) {
-            Response<Embedding> embeddingResponse = embeddingModel.embed(queryText);
-            if (embeddingResponse != null) {
-                embedding = embeddingResponse.content();
-            }
+        Response<Embedding> embeddingResponse = embeddingModel.embed(queryText);
+        if (embeddingResponse != null) {
+            embedding = embeddingResponse.content();
         }
         return embedding;
     }
 
+    /**
+     * Create a thread-safe, least-recently-used cache.
+     *
+     * @param maxSize Maximum number of entries
+     * @return Cache map
+     */
+    private static <V> Map<String, V> lruCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
     /**
      * Create content metadata with hit score.
      *
@@ -2,6 +2,7 @@ package dev.langchain4j.community.rag.content.retriever.lucene;
 
 import static dev.langchain4j.internal.Utils.isNullOrEmpty;
 import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
 import com.knuddels.jtokkit.Encodings;
@@ -12,18 +13,25 @@ import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.content.ContentMetadata;
-import dev.langchain4j.rag.content.retriever.ContentRetriever;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
 import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.Filter;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.DoubleField;
 import org.apache.lucene.document.Field;
@@ -34,8 +42,7 @@ import org.apache.lucene.document.KnnFloatVectorField;
 import org.apache.lucene.document.LongField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
-import org.apache.lucene.index.IndexWriter;
-import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.store.Directory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,7 +50,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Lucene indexer for LangChain4J content (in the form of `TextSegment`).
  */
-public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
+public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment>, AutoCloseable {
 
     /**
      * Builder for `LuceneEmbeddingStore`.
@@ -51,9 +58,18 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
     public static class LuceneEmbeddingStoreBuilder {
 
         private Directory directory;
+        private LuceneIndex index;
+        private boolean returnEmbeddings;
+        private int vectorOversample;
+        private int ingestionThreads;
+        private int ingestionBatchSize;
+        private Executor ingestionExecutor;
 
         private LuceneEmbeddingStoreBuilder() {
             // Set defaults
+            vectorOversample = 1;
+            ingestionThreads = Runtime.getRuntime().availableProcessors();
+            ingestionBatchSize = 1000;
         }
 
         /**
@@ -62,14 +78,27 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
          * @return New instance of `LuceneContentRetriever`
          */
         public LuceneEmbeddingStore build() {
-            if (directory == null) {
-                directory = DirectoryFactory.tempDirectory();
+            boolean ownsIndex = index == null;
+            if (ownsIndex) {
+                if (directory == null) {
+                    directory = DirectoryFactory.tempDirectory();
+                }
+                index = LuceneIndex.acquire(directory);
             }
-            return new LuceneEmbeddingStore(directory);
+            return new LuceneEmbeddingStore(
+                    index,
+                    ownsIndex,
+                    returnEmbeddings,
+                    vectorOversample,
+                    ingestionThreads,
+                    ingestionBatchSize,
+                    ingestionExecutor);
         }
 
         /**
-         * Sets the Lucene directory. If null, a temporary file-based directory is used.
+         * Sets the Lucene directory. If null, a temporary file-based directory is used. The shared index for
+         * the directory is used, unless an index is set, and it is closed when the last store using it is
+         * closed.
          *
          * @param directory Lucene directory
          * @return Builder
@@ -79,6 +108,88 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
             this.directory = directory;
             return this;
         }
+
+        /**
+         * Sets the shared Lucene index. If null, the shared index for the directory is used. An index that is
+         * set is not closed with the store.
+         *
+         * @param index Lucene index
+         * @return Builder
+         */
+        public LuceneEmbeddingStoreBuilder index(LuceneIndex index) {
+            // Can be null
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * Sets the number of documents converted and added to the index as one task by `bulkAddAll`.
+         *
+         * @param ingestionBatchSize Documents per batch
+         * @return Builder
+         */
+        public LuceneEmbeddingStoreBuilder ingestionBatchSize(int ingestionBatchSize) {
+            if (ingestionBatchSize > 0) {
+                this.ingestionBatchSize = ingestionBatchSize;
+            }
+            return this;
+        }
+
+        /**
+         * Sets an executor to run `bulkAddAll` batches, for example one shared with other stores. If null, the
+         * store creates a pool of `ingestionThreads` threads on first use, and shuts it down when the store is
+         * closed.
+         *
+         * @param ingestionExecutor Executor for bulk ingestion
+         * @return Builder
+         */
+        public LuceneEmbeddingStoreBuilder ingestionExecutor(Executor ingestionExecutor) {
+            // Can be null
+            this.ingestionExecutor = ingestionExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads used by `bulkAddAll` to convert documents and add them to the index.
+         * Defaults to the number of available processors. Not used with an ingestion executor.
+         *
+         * @param ingestionThreads Number of threads
+         * @return Builder
+         */
+        public LuceneEmbeddingStoreBuilder ingestionThreads(int ingestionThreads) {
+            if (ingestionThreads > 0) {
+                this.ingestionThreads = ingestionThreads;
+            }
+            return this;
+        }
+
+        /**
+         * Sets whether search results include the embedding of each match. Embeddings are read back from the
+         * index vector values, which avoids embedding the matches again, for example for diversity
+         * re-ranking. Off by default, since reading the vectors adds to the search cost.
+         *
+         * @param returnEmbeddings Whether to return embeddings
+         * @return Builder
+         */
+        public LuceneEmbeddingStoreBuilder returnEmbeddings(boolean returnEmbeddings) {
+            this.returnEmbeddings = returnEmbeddings;
+            return this;
+        }
+
+        /**
+         * Sets how many candidates a search considers for every result. If greater than 1, the candidates are
+         * rescored with the full precision vectors, which recovers recall lost to vector quantization (see
+         * `LuceneIndex.LuceneIndexBuilder.vectorQuantization`).
+         *
+         * @param vectorOversample Number of candidates for every result
+         * @return Builder
+         */
+        public LuceneEmbeddingStoreBuilder vectorOversample(int vectorOversample) {
+            if (vectorOversample >= 1) {
+                this.vectorOversample = vectorOversample;
+            }
+            return this;
+        }
     }
 
     private static final String ID_FIELD_NAME = LuceneDocumentFields.ID_FIELD_NAME.fieldName();
@@ -97,20 +208,70 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
         return new LuceneEmbeddingStoreBuilder();
     }
 
-    private final Directory directory;
+    private final LuceneIndex index;
+    private final AtomicBoolean ownsIndex;
+    private final boolean returnEmbeddings;
+    private final int vectorOversample;
+    private final int ingestionThreads;
+    private final int ingestionBatchSize;
+    private Executor ingestionExecutor;
+    private ExecutorService ingestionPool;
+    private boolean closed;
     private final Encoding encoding;
 
     /**
-     * Instantiate a new indexer to add content to an index based on a Lucene directory.
+     * Instantiate a new indexer to add content to a shared Lucene index.
      *
-     * @param directory Lucene directory
+     * @param index            Lucene index
+     * @param ownsIndex        Whether the index was acquired for the store, and is released when it is closed
+     * @param returnEmbeddings Whether search results include embeddings
+     * @param vectorOversample Number of vector candidates to rescore for every result
+     * @param ingestionThreads   Number of threads for bulk ingestion
+     * @param ingestionBatchSize Documents per bulk ingestion task
+     * @param ingestionExecutor  Executor for bulk ingestion - can be null
      */
-    private LuceneEmbeddingStore(Directory directory) {
-        this.directory = ensureNotNull(directory, "directory");
+    private LuceneEmbeddingStore(
+            LuceneIndex index,
+            boolean ownsIndex,
+            boolean returnEmbeddings,
+            int vectorOversample,
+            int ingestionThreads,
+            int ingestionBatchSize,
+            Executor ingestionExecutor) {
+        this.index = ensureNotNull(index, "index");
+        this.ownsIndex = new AtomicBoolean(ownsIndex);
+        this.returnEmbeddings = returnEmbeddings;
+        this.vectorOversample = Math.max(1, vectorOversample);
+        this.ingestionThreads = Math.max(1, ingestionThreads);
+        this.ingestionBatchSize = Math.max(1, ingestionBatchSize);
+        this.ingestionExecutor = ingestionExecutor; // Can be null
         EncodingRegistry registry = Encodings.newDefaultEncodingRegistry();
         encoding = registry.getEncoding(EncodingType.CL100K_BASE);
     }
 
+    /**
+     * Shut down the bulk ingestion pool created by the store, and release the shared index for the
+     * directory, which is closed if no other store uses it. An index or ingestion executor set on the builder
+     * is left open.
+     *
+     * @throws IOException When the index cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            if (ingestionPool != null) {
+                ingestionPool.shutdownNow();
+                ingestionPool = null;
+                ingestionExecutor = null;
+            }
+        }
+        // Release only once, even if closed again
+        if (ownsIndex.getAndSet(false)) {
+            index.release();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -198,21 +359,152 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
         List<Embedding> embeddings = ensureSize(embeddingsArg, maxSize);
         List<TextSegment> embedded = ensureSize(embeddedArg, maxSize);
 
-        List<Document> documents = new ArrayList<>();
-        for (int i = 0; i < maxSize; i++) {
-            // Create Lucene documents list allowing other documents to be created even if any fail
+        List<Document> documents = toDocuments(ids, embeddings, embedded, 0, maxSize);
+
+        try {
+            upsertDocuments(documents);
+            index.afterWrite();
+        } catch (IOException e) {
+            log.error("Could not index documents", e);
+        }
+    }
+
+    /**
+     * Executor for bulk ingestion, creating the pool of the store on first use.
+     *
+     * @return Executor for bulk ingestion
+     * @throws IllegalStateException When the store is closed
+     */
+    private synchronized Executor ingestionExecutor() {
+        if (closed) {
+            throw new IllegalStateException("The store is closed");
+        }
+        if (ingestionExecutor == null) {
+            ingestionPool = Executors.newFixedThreadPool(ingestionThreads, runnable -> {
+                Thread thread = new Thread(runnable, "lucene-ingestion");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ingestionExecutor = ingestionPool;
+        }
+        return ingestionExecutor;
+    }
+
+    /**
+     * Index a large amount of content. Content is split into batches, which are converted to Lucene
+     * documents (including token counts) and added to the shared index writer concurrently, by several
+     * threads. A batch that fails stops at the failing document, and only the documents added before it are
+     * counted as indexed. There is a single commit at the end, and if it fails, all documents are counted as
+     * failed. Use `LuceneIndex` settings to tune the RAM buffer and merge policy for ingestion.
+     *
+     * @param idsArg        Content ids, can be null
+     * @param embeddingsArg Content embeddings, can be null
+     * @param embeddedArg   Content, can be null
+     * @return Ingestion counts and throughput
+     * @throws IllegalStateException When the store is closed
+     */
+    public BulkIngestionResult bulkAddAll(
+            List<String> idsArg, List<Embedding> embeddingsArg, List<TextSegment> embeddedArg) {
+        long start = System.nanoTime();
+
+        int maxSize = maxSize(idsArg, embeddingsArg, embeddedArg);
+
+        List<String> ids = ensureSize(idsArg, maxSize);
+        List<Embedding> embeddings = ensureSize(embeddingsArg, maxSize);
+        List<TextSegment> embedded = ensureSize(embeddedArg, maxSize);
+
+        Executor executor = ingestionExecutor();
+        int indexed = 0;
+        boolean committed = false;
+        try {
+            List<FutureTask<Integer>> batches = new ArrayList<>();
+            for (int from = 0; from < maxSize; from = from + ingestionBatchSize) {
+                int batchFrom = from;
+                int batchTo = Math.min(maxSize, from + ingestionBatchSize);
+                FutureTask<Integer> batch = new FutureTask<>(
+                        () -> upsertBatch(toDocuments(ids, embeddings, embedded, batchFrom, batchTo)));
+                executor.execute(batch);
+                batches.add(batch);
+            }
             try {
-                documents.add(toDocument(ids.get(i), embeddings.get(i), embedded.get(i)));
-            } catch (Exception e) {
-                log.error("Could not create Lucene document", e);
+                for (FutureTask<Integer> batch : batches) {
+                    try {
+                        indexed = indexed + batch.get();
+                    } catch (ExecutionException e) {
+                        log.error("Could not index documents", e.getCause());
+                    }
+                }
+            } finally {
+                // Do not leave batches running after an interrupt
+                batches.forEach(batch -> batch.cancel(true));
             }
+            index.commit();
+            committed = true;
+            index.refresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while indexing documents", e);
+        } catch (IOException e) {
+            log.error(committed ? "Could not refresh searcher" : "Could not commit documents", e);
+        }
+        if (!committed) {
+            // Documents that are not committed are not durable
+            indexed = 0;
         }
 
-        IndexWriterConfig config = new IndexWriterConfig(new StandardAnalyzer());
-        try (IndexWriter writer = new IndexWriter(directory, config)) {
-            writer.addDocuments(documents);
+        BulkIngestionResult result =
+                new BulkIngestionResult(indexed, maxSize - indexed, Duration.ofNanos(System.nanoTime() - start));
+        log.info(
+                "Indexed {} documents in {} ms ({} documents/sec)",
+                result.indexed(),
+                result.elapsed().toMillis(),
+                Math.round(result.documentsPerSecond()));
+        return result;
+    }
+
+    /**
+     * Delete content by id, in a single batch.
+     *
+     * @param ids Content ids
+     */
+    @Override
+    public void removeAll(Collection<String> ids) {
+        ensureNotEmpty(ids, "ids");
+        Term[] terms = ids.stream().map(id -> new Term(ID_FIELD_NAME, id)).toArray(Term[]::new);
+        try {
+            index.writer().deleteDocuments(terms);
+            index.afterWrite();
         } catch (IOException e) {
-            log.error("Could not index documents", e);
+            log.error("Could not delete documents", e);
+        }
+    }
+
+    /**
+     * Delete all content matching a metadata filter, in a single batch.
+     *
+     * @param filter Metadata filter
+     */
+    @Override
+    public void removeAll(Filter filter) {
+        ensureNotNull(filter, "filter");
+        try {
+            index.writer().deleteDocuments(new LuceneMetadataFilterMapper().map(filter));
+            index.afterWrite();
+        } catch (IOException e) {
+            log.error("Could not delete documents", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll() {
+        try {
+            index.writer().deleteAll();
+            index.afterWrite();
+        } catch (IOException e) {
+            log.error("Could not delete documents", e);
         }
     }
 
@@ -225,18 +517,20 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
             return new EmbeddingSearchResult<>(Collections.emptyList());
         }
 
-        ContentRetriever contentRetriever = LuceneContentRetriever.builder()
-                .directory(directory)
+        LuceneContentRetriever contentRetriever = LuceneContentRetriever.builder()
+                .index(index)
                 .embeddingModel(new KnownQueryEmbeddingModel(request.queryEmbedding()))
                 .maxResults(request.maxResults())
                 .minScore(request.minScore())
-                .directory(directory)
+                .filter(request.filter())
+                .vectorOversample(vectorOversample)
                 .build();
-        log.debug("Ignoring request filter", request.filter());
 
         List<EmbeddingMatch<TextSegment>> results = new ArrayList<>();
-        List<Content> contents = contentRetriever.retrieve(null);
-        for (Content content : contents) {
+        List<Embedding> embeddings = returnEmbeddings ? new ArrayList<>() : null;
+        List<Content> contents = contentRetriever.retrieve(null, embeddings);
+        for (int i = 0; i < contents.size(); i++) {
+            Content content = contents.get(i);
             try {
                 Map<ContentMetadata, Object> metadata = content.metadata();
                 Double score;
@@ -245,8 +539,8 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
                 } else {
                     score = Double.NaN;
                 }
-                // Note: Lucene does not store embeddings (KnnFloatVectorField)
-                Embedding embedding = null;
+                // Embeddings are only read back from the index vector values if requested
+                Embedding embedding = returnEmbeddings ? embeddings.get(i) : null;
                 TextSegment textSegment = content.textSegment();
                 String id;
                 if (textSegment != null && textSegment.metadata() != null) {
@@ -330,6 +624,62 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
         return maxLen;
     }
 
+    /**
+     * Add documents, replacing any existing documents with the same id, so that adding the same content
+     * again does not create duplicates.
+     *
+     * @param documents Lucene documents, each with an id
+     * @throws IOException When the documents cannot be indexed
+     */
+    /**
+     * Add or update a batch of documents, stopping at the first document that cannot be added.
+     *
+     * @param documents Lucene documents
+     * @return Number of documents added to the index writer
+     */
+    private int upsertBatch(List<Document> documents) {
+        int added = 0;
+        try {
+            for (Document document : documents) {
+                index.upsertDocument(new Term(ID_FIELD_NAME, document.get(ID_FIELD_NAME)), document);
+                added++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not index documents", e);
+        }
+        return added;
+    }
+
+    private void upsertDocuments(List<Document> documents) throws IOException {
+        for (Document document : documents) {
+            index.upsertDocument(new Term(ID_FIELD_NAME, document.get(ID_FIELD_NAME)), document);
+        }
+    }
+
+    /**
+     * Convert a range of provided ids, embeddings and text to Lucene documents, allowing other documents to
+     * be created even if any fail.
+     *
+     * @param ids        List of content ids
+     * @param embeddings List of content embeddings
+     * @param embedded   List of content
+     * @param from       Start of the range, inclusive
+     * @param to         End of the range, exclusive
+     * @return Lucene documents
+     */
+    private List<Document> toDocuments(
+            List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded, int from, int to) {
+        List<Document> documents = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            try {
+                documents.add(toDocument(ids.get(i), embeddings.get(i), embedded.get(i)));
+            } catch (Exception e) {
+                log.error("Could not create Lucene document", e);
+            }
+        }
+        return documents;
+    }
+
     /**
      * Convert provided id, embedding and text to a Lucene document.
      *
@@ -0,0 +1,563 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.lucene912.Lucene912Codec;
+import org.apache.lucene.codecs.lucene99.Lucene99HnswScalarQuantizedVectorsFormat;
+import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.Directory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared Lucene index for a directory, with one long-lived `IndexWriter` and a near-real-time
+ * `SearcherManager`. Embedding stores built with the same directory share the index, so writes do not reopen
+ * the writer, and a `LuceneContentRetriever` built with the index searches without reopening the reader. An
+ * index opened by a store is closed when the last store using it is closed.
+ */
+public final class LuceneIndex implements Closeable {
+
+    /**
+     * Builder for `LuceneIndex`.
+     */
+    public static class LuceneIndexBuilder {
+
+        private Directory directory;
+        private Analyzer analyzer;
+        private Duration commitInterval;
+        private Duration refreshInterval;
+        private VectorQuantization vectorQuantization;
+        private int hnswMaxConnections;
+        private int hnswBeamWidth;
+        private double ramBufferSizeMB;
+        private MergePolicy mergePolicy;
+        private double deletesPctAllowed;
+        private boolean softDeletes;
+
+        private LuceneIndexBuilder() {
+            // Set defaults
+            vectorQuantization = VectorQuantization.NONE;
+            hnswMaxConnections = Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN;
+            hnswBeamWidth = Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH;
+            ramBufferSizeMB = IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB;
+            deletesPctAllowed = new TieredMergePolicy().getDeletesPctAllowed();
+        }
+
+        /**
+         * Build an instance of `LuceneIndex` using internal builder field values, and register it as the
+         * shared index for the directory. The index stays open until it is closed, even if stores using it
+         * are closed.
+         *
+         * @return New instance of `LuceneIndex`
+         * @throws IllegalStateException If an index is already open for the directory
+         */
+        public LuceneIndex build() {
+            if (directory == null) {
+                directory = DirectoryFactory.tempDirectory();
+            }
+            return indexes.compute(directory, (key, existing) -> {
+                if (existing != null && existing.isOpen()) {
+                    throw new IllegalStateException(
+                            "An index is already open for the directory, close the stores using it first");
+                }
+                LuceneIndex index = create();
+                // Held by the caller, who closes the index
+                index.references = 1;
+                return index;
+            });
+        }
+
+        /**
+         * Create an index, without registering it as the shared index for the directory.
+         *
+         * @return New instance of `LuceneIndex`
+         */
+        private LuceneIndex create() {
+            return new LuceneIndex(directory, writerConfig(), commitInterval, refreshInterval, softDeletes);
+        }
+
+        /**
+         * Create the index writer configuration, with a codec for the vector format if it is not the
+         * default.
+         *
+         * @return Index writer configuration
+         */
+        private IndexWriterConfig writerConfig() {
+            IndexWriterConfig config = new IndexWriterConfig(analyzer == null ? new StandardAnalyzer() : analyzer);
+            config.setRAMBufferSizeMB(ramBufferSizeMB);
+            if (mergePolicy != null) {
+                config.setMergePolicy(mergePolicy);
+            } else {
+                TieredMergePolicy tieredMergePolicy = new TieredMergePolicy();
+                tieredMergePolicy.setDeletesPctAllowed(deletesPctAllowed);
+                config.setMergePolicy(tieredMergePolicy);
+            }
+            if (softDeletes) {
+                config.setSoftDeletesField(SOFT_DELETES_FIELD_NAME);
+            }
+            if (vectorQuantization != VectorQuantization.NONE
+                    || hnswMaxConnections != Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN
+                    || hnswBeamWidth != Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH) {
+                KnnVectorsFormat vectorsFormat = vectorsFormat();
+                config.setCodec(new Lucene912Codec() {
+                    @Override
+                    public KnnVectorsFormat getKnnVectorsFormatForField(String field) {
+                        return vectorsFormat;
+                    }
+                });
+            }
+            return config;
+        }
+
+        private KnnVectorsFormat vectorsFormat() {
+            switch (vectorQuantization) {
+                case INT8:
+                    return new Lucene99HnswScalarQuantizedVectorsFormat(
+                            hnswMaxConnections, hnswBeamWidth, 1, 7, false, null, null);
+                case INT4:
+                    return new Lucene99HnswScalarQuantizedVectorsFormat(
+                            hnswMaxConnections, hnswBeamWidth, 1, 4, true, null, null);
+                default:
+                    return new Lucene99HnswVectorsFormat(hnswMaxConnections, hnswBeamWidth);
+            }
+        }
+
+        /**
+         * Sets the analyzer used to index content, and by default to parse full-text queries. Use a
+         * `PerFieldAnalyzerWrapper` or a language-specific analyzer for content that is not English. If null,
+         * a `StandardAnalyzer` is used.
+         *
+         * @param analyzer Lucene analyzer
+         * @return Builder
+         */
+        public LuceneIndexBuilder analyzer(Analyzer analyzer) {
+            // Can be null
+            this.analyzer = analyzer;
+            return this;
+        }
+
+        /**
+         * Sets the interval between background commits. If null or zero, every write is committed
+         * immediately, which is durable but pays for an fsync on every write.
+         *
+         * @param commitInterval Interval between commits
+         * @return Builder
+         */
+        public LuceneIndexBuilder commitInterval(Duration commitInterval) {
+            // Can be null
+            this.commitInterval = commitInterval;
+            return this;
+        }
+
+        /**
+         * Sets the maximum percentage of deleted documents in the index, before segments are merged to
+         * reclaim them. Lower values keep the index smaller under continuous updates, at the cost of more
+         * merging. Must be between 5 and 50, and is not used with a custom merge policy.
+         *
+         * @param deletesPctAllowed Maximum percentage of deleted documents
+         * @return Builder
+         */
+        public LuceneIndexBuilder deletesPctAllowed(double deletesPctAllowed) {
+            if (deletesPctAllowed >= 5 && deletesPctAllowed <= 50) {
+                this.deletesPctAllowed = deletesPctAllowed;
+            }
+            return this;
+        }
+
+        /**
+         * Sets the Lucene directory. If null, a temporary file-based directory is used.
+         *
+         * @param directory Lucene directory
+         * @return Builder
+         */
+        public LuceneIndexBuilder directory(Directory directory) {
+            // Can be null
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the size of the queue used when building the HNSW graph (beam width, or ef_construction).
+         * Larger values build a better graph, but index more slowly.
+         *
+         * @param hnswBeamWidth HNSW beam width
+         * @return Builder
+         */
+        public LuceneIndexBuilder hnswBeamWidth(int hnswBeamWidth) {
+            if (hnswBeamWidth > 0) {
+                this.hnswBeamWidth = hnswBeamWidth;
+            }
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections of each node in the HNSW graph (M). Larger values improve
+         * recall, but need more memory.
+         *
+         * @param hnswMaxConnections HNSW maximum connections
+         * @return Builder
+         */
+        public LuceneIndexBuilder hnswMaxConnections(int hnswMaxConnections) {
+            if (hnswMaxConnections > 0) {
+                this.hnswMaxConnections = hnswMaxConnections;
+            }
+            return this;
+        }
+
+        /**
+         * Sets the merge policy, which decides when index segments are merged. If null, Lucene's tiered
+         * merge policy is used.
+         *
+         * @param mergePolicy Merge policy
+         * @return Builder
+         */
+        public LuceneIndexBuilder mergePolicy(MergePolicy mergePolicy) {
+            // Can be null
+            this.mergePolicy = mergePolicy;
+            return this;
+        }
+
+        /**
+         * Sets the amount of memory used to buffer added documents before they are flushed to a new segment.
+         * Larger buffers make fewer, larger segments, which speeds up bulk ingestion.
+         *
+         * @param ramBufferSizeMB Buffer size in MB
+         * @return Builder
+         */
+        public LuceneIndexBuilder ramBufferSizeMB(double ramBufferSizeMB) {
+            if (ramBufferSizeMB > 0) {
+                this.ramBufferSizeMB = ramBufferSizeMB;
+            }
+            return this;
+        }
+
+        /**
+         * Sets the interval between background near-real-time searcher refreshes. If null or zero, the
+         * searcher is refreshed after every write, so writes are visible to the next search.
+         *
+         * @param refreshInterval Interval between searcher refreshes
+         * @return Builder
+         */
+        public LuceneIndexBuilder refreshInterval(Duration refreshInterval) {
+            // Can be null
+            this.refreshInterval = refreshInterval;
+            return this;
+        }
+
+        /**
+         * Sets whether updated documents are soft-deleted, by marking them in a doc values field, instead of
+         * being deleted by id. Soft deletes avoid resolving the deleted document during indexing, and merges
+         * reclaim soft-deleted documents like other deletes. Retrievers built with the directory hide
+         * soft-deleted documents, but other readers opened outside of this index need a
+         * `SoftDeletesDirectoryReaderWrapper`.
+         *
+         * @param softDeletes Whether to soft-delete updated documents
+         * @return Builder
+         */
+        public LuceneIndexBuilder softDeletes(boolean softDeletes) {
+            this.softDeletes = softDeletes;
+            return this;
+        }
+
+        /**
+         * Sets the scalar quantization of embedding vectors in the HNSW graph. If null, vectors are not
+         * quantized. Only applies to segments written by this index.
+         *
+         * @param vectorQuantization Vector quantization
+         * @return Builder
+         */
+        public LuceneIndexBuilder vectorQuantization(VectorQuantization vectorQuantization) {
+            if (vectorQuantization == null) {
+                this.vectorQuantization = VectorQuantization.NONE;
+            } else {
+                this.vectorQuantization = vectorQuantization;
+            }
+            return this;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneIndex.class);
+
+    private static final Map<Directory, LuceneIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Name of the doc values field that marks soft-deleted documents.
+     */
+    static final String SOFT_DELETES_FIELD_NAME = "__soft_deletes";
+
+    /**
+     * Instantiate a builder for `LuceneIndex`.
+     *
+     * @return Builder for `LuceneIndex`
+     */
+    public static LuceneIndexBuilder builder() {
+        return new LuceneIndexBuilder();
+    }
+
+    /**
+     * Get the shared index for a directory, opening one with default settings if none is open. Every call
+     * must be matched by a call to `release`.
+     *
+     * @param directory Lucene directory
+     * @return Shared index for the directory
+     */
+    static LuceneIndex acquire(Directory directory) {
+        ensureNotNull(directory, "directory");
+        return indexes.compute(directory, (key, existing) -> {
+            LuceneIndex index = existing != null && existing.isOpen()
+                    ? existing
+                    : builder().directory(key).create();
+            index.references++;
+            return index;
+        });
+    }
+
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final boolean commitOnWrite;
+    private final boolean refreshOnWrite;
+    private final ScheduledExecutorService scheduler;
+    private final boolean softDeletes;
+    private int references;
+
+    /**
+     * Open the writer and near-real-time searcher, and schedule background maintenance.
+     *
+     * @param directory       Lucene directory
+     * @param config          Index writer configuration
+     * @param commitInterval  Interval between commits, or null to commit on every write
+     * @param refreshInterval Interval between searcher refreshes, or null to refresh on every write
+     * @param softDeletes     Whether to soft-delete updated documents
+     */
+    private LuceneIndex(
+            Directory directory,
+            IndexWriterConfig config,
+            Duration commitInterval,
+            Duration refreshInterval,
+            boolean softDeletes) {
+        this.directory = ensureNotNull(directory, "directory");
+        this.softDeletes = softDeletes;
+        commitOnWrite = isNotPositive(commitInterval);
+        refreshOnWrite = isNotPositive(refreshInterval);
+        try {
+            writer = new IndexWriter(directory, config);
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+
+        if (commitOnWrite && refreshOnWrite) {
+            scheduler = null;
+        } else {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "lucene-index-maintenance");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (!commitOnWrite) {
+                long millis = commitInterval.toMillis();
+                scheduler.scheduleWithFixedDelay(this::scheduledCommit, millis, millis, TimeUnit.MILLISECONDS);
+            }
+            if (!refreshOnWrite) {
+                long millis = refreshInterval.toMillis();
+                scheduler.scheduleWithFixedDelay(this::scheduledRefresh, millis, millis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Lucene directory of the index.
+     *
+     * @return Lucene directory
+     */
+    public Directory directory() {
+        return directory;
+    }
+
+    /**
+     * Analyzer used to index content. It is thread-safe, and shared by all retrievers for the index.
+     *
+     * @return Lucene analyzer
+     */
+    public Analyzer analyzer() {
+        return writer.getAnalyzer();
+    }
+
+    /**
+     * Commit all pending changes to the directory.
+     *
+     * @throws IOException When the commit fails
+     */
+    public void commit() throws IOException {
+        writer.commit();
+    }
+
+    /**
+     * Refresh the near-real-time searcher, so that all writes so far are visible to searches.
+     *
+     * @throws IOException When the searcher cannot be refreshed
+     */
+    public void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Whether the index is still open.
+     *
+     * @return True if the writer is open
+     */
+    public boolean isOpen() {
+        return writer.isOpen();
+    }
+
+    /**
+     * Stop background maintenance, commit pending changes, and close the writer and searcher. The
+     * directory itself is not closed. Stores still using the index can no longer write to it.
+     */
+    @Override
+    public void close() throws IOException {
+        indexes.remove(directory, this);
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        try {
+            searcherManager.close();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Release the index acquired with `acquire`, and close it if it is no longer used.
+     *
+     * @throws IOException When the index cannot be closed
+     */
+    void release() throws IOException {
+        AtomicBoolean unused = new AtomicBoolean();
+        indexes.computeIfPresent(directory, (key, existing) -> {
+            if (existing != this || --references > 0) {
+                return existing;
+            }
+            unused.set(true);
+            return null;
+        });
+        if (unused.get()) {
+            close();
+        }
+    }
+
+    /**
+     * Shared index writer.
+     *
+     * @return Index writer
+     */
+    IndexWriter writer() {
+        return writer;
+    }
+
+    /**
+     * Add a document, replacing any documents with the same id.
+     *
+     * @param id       Id term of the document
+     * @param document Lucene document
+     * @throws IOException When the document cannot be indexed
+     */
+    void upsertDocument(Term id, Document document) throws IOException {
+        if (softDeletes) {
+            writer.softUpdateDocument(id, document, new NumericDocValuesField(SOFT_DELETES_FIELD_NAME, 1));
+        } else {
+            writer.updateDocument(id, document);
+        }
+    }
+
+    /**
+     * Commit and refresh after a write, unless they are done in the background.
+     *
+     * @throws IOException When the commit or refresh fails
+     */
+    void afterWrite() throws IOException {
+        if (commitOnWrite) {
+            writer.commit();
+        }
+        if (refreshOnWrite) {
+            searcherManager.maybeRefreshBlocking();
+        }
+    }
+
+    /**
+     * Acquire the current searcher. Must be released with `releaseSearcher`.
+     *
+     * @return Index searcher
+     * @throws IOException When the searcher cannot be acquired
+     */
+    IndexSearcher acquireSearcher() throws IOException {
+        return searcherManager.acquire();
+    }
+
+    /**
+     * Release a searcher acquired with `acquireSearcher`.
+     *
+     * @param searcher Index searcher, can be null
+     */
+    void releaseSearcher(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Could not release searcher", e);
+        }
+    }
+
+    private void scheduledCommit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (AlreadyClosedException e) {
+            log.debug("Index closed, stopping background commits", e);
+            scheduler.shutdown();
+        } catch (Exception e) {
+            log.warn("Could not commit index", e);
+        }
+    }
+
+    private void scheduledRefresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (AlreadyClosedException e) {
+            log.debug("Index closed, stopping background refreshes", e);
+            scheduler.shutdown();
+        } catch (Exception e) {
+            log.warn("Could not refresh searcher", e);
+        }
+    }
+
+    private static boolean isNotPositive(Duration duration) {
+        return duration == null || duration.isZero() || duration.isNegative();
+    }
+}
@@ -0,0 +1,142 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsIn;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotIn;
+import dev.langchain4j.store.embedding.filter.logical.And;
+import dev.langchain4j.store.embedding.filter.logical.Not;
+import dev.langchain4j.store.embedding.filter.logical.Or;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TermRangeQuery;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Maps LangChain4J metadata filters to Lucene queries, over the metadata fields written by
+ * `LuceneEmbeddingStore`. Integral numbers match int and long metadata values, and floating point numbers
+ * match float and double metadata values, whichever width the key was indexed with. Values other than
+ * numbers are compared as strings.
+ */
+class LuceneMetadataFilterMapper {
+
+    /**
+     * Map a filter to a Lucene query.
+     *
+     * @param filter LangChain4J metadata filter
+     * @return Lucene query matching the filter
+     */
+    Query map(Filter filter) {
+        if (filter instanceof IsEqualTo eq) {
+            return mapEqual(eq.key(), eq.comparisonValue());
+        } else if (filter instanceof IsNotEqualTo neq) {
+            return negate(mapEqual(neq.key(), neq.comparisonValue()));
+        } else if (filter instanceof IsGreaterThan gt) {
+            return mapRange(gt.key(), gt.comparisonValue(), false, null, false);
+        } else if (filter instanceof IsGreaterThanOrEqualTo gte) {
+            return mapRange(gte.key(), gte.comparisonValue(), true, null, false);
+        } else if (filter instanceof IsLessThan lt) {
+            return mapRange(lt.key(), null, false, lt.comparisonValue(), false);
+        } else if (filter instanceof IsLessThanOrEqualTo lte) {
+            return mapRange(lte.key(), null, false, lte.comparisonValue(), true);
+        } else if (filter instanceof IsIn in) {
+            return mapIn(in.key(), in.comparisonValues());
+        } else if (filter instanceof IsNotIn nin) {
+            return negate(mapIn(nin.key(), nin.comparisonValues()));
+        } else if (filter instanceof And and) {
+            return new BooleanQuery.Builder()
+                    .add(map(and.left()), Occur.FILTER)
+                    .add(map(and.right()), Occur.FILTER)
+                    .build();
+        } else if (filter instanceof Or or) {
+            return new BooleanQuery.Builder()
+                    .add(map(or.left()), Occur.SHOULD)
+                    .add(map(or.right()), Occur.SHOULD)
+                    .build();
+        } else if (filter instanceof Not not) {
+            return negate(map(not.expression()));
+        } else {
+            throw new UnsupportedOperationException(
+                    "Unsupported filter type: " + filter.getClass().getName());
+        }
+    }
+
+    private Query mapEqual(String key, Object value) {
+        if (isNumber(value)) {
+            return NumericMetadataQuery.exact(key, (Number) value);
+        }
+        return new TermQuery(new Term(key, String.valueOf(value)));
+    }
+
+    /**
+     * Map a set comparison. The values need to be all integral numbers, all floating point numbers, or all
+     * compared as strings.
+     */
+    private Query mapIn(String key, Collection<?> values) {
+        Set<String> kinds = values.stream().map(this::kind).collect(Collectors.toCollection(TreeSet::new));
+        if (kinds.size() > 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Values of IsIn filter on metadata key '%s' need to be of the same kind, but got %s",
+                    key, kinds));
+        }
+        if (isNumber(values.iterator().next())) {
+            return NumericMetadataQuery.set(key, values.stream().map(Number.class::cast).collect(Collectors.toList()));
+        }
+        List<BytesRef> terms =
+                values.stream().map(v -> new BytesRef(String.valueOf(v))).collect(Collectors.toList());
+        return new TermInSetQuery(key, terms);
+    }
+
+    /**
+     * Map a range comparison, where either the lower or upper value is null for an open range.
+     */
+    private Query mapRange(String key, Object lower, boolean includeLower, Object upper, boolean includeUpper) {
+        Object value = lower != null ? lower : upper;
+        if (isNumber(value)) {
+            return NumericMetadataQuery.range(key, (Number) lower, includeLower, (Number) upper, includeUpper);
+        }
+        String min = lower == null ? null : String.valueOf(lower);
+        String max = upper == null ? null : String.valueOf(upper);
+        return TermRangeQuery.newStringRange(key, min, max, includeLower, includeUpper);
+    }
+
+    private boolean isNumber(Object value) {
+        return NumericMetadataQuery.isIntegral(value) || NumericMetadataQuery.isFloatingPoint(value);
+    }
+
+    private String kind(Object value) {
+        if (NumericMetadataQuery.isIntegral(value)) {
+            return "integral number";
+        } else if (NumericMetadataQuery.isFloatingPoint(value)) {
+            return "floating point number";
+        } else {
+            return "string";
+        }
+    }
+
+    /**
+     * Negate a query. Documents without the metadata key also match, since a pure negative query would
+     * not match anything in Lucene.
+     */
+    private Query negate(Query query) {
+        return new BooleanQuery.Builder()
+                .add(new MatchAllDocsQuery(), Occur.FILTER)
+                .add(query, Occur.MUST_NOT)
+                .build();
+    }
+}
@@ -0,0 +1,241 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.apache.lucene.document.DoubleField;
+import org.apache.lucene.document.FloatField;
+import org.apache.lucene.document.IntField;
+import org.apache.lucene.document.LongField;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+
+/**
+ * Range or set query over a numeric metadata key. The store indexes a metadata number as an `IntField`,
+ * `LongField`, `FloatField` or `DoubleField` depending on its Java type, so the point query is only chosen
+ * when the query is rewritten against an index: integral values are compared as ints or longs, and floating
+ * point values as floats or doubles, whichever width the key was indexed with.
+ */
+class NumericMetadataQuery extends Query {
+
+    private final String field;
+    private final Number lower;
+    private final boolean includeLower;
+    private final Number upper;
+    private final boolean includeUpper;
+    private final Number[] values;
+
+    private NumericMetadataQuery(
+            String field, Number lower, boolean includeLower, Number upper, boolean includeUpper, Number[] values) {
+        this.field = field;
+        this.lower = lower;
+        this.includeLower = includeLower;
+        this.upper = upper;
+        this.includeUpper = includeUpper;
+        this.values = values;
+    }
+
+    /**
+     * Create a query matching a single value.
+     *
+     * @param field Metadata key
+     * @param value Integral or floating point value
+     * @return Query
+     */
+    static NumericMetadataQuery exact(String field, Number value) {
+        return new NumericMetadataQuery(field, value, true, value, true, null);
+    }
+
+    /**
+     * Create a range query, where either bound can be null for an open range.
+     *
+     * @param field        Metadata key
+     * @param lower        Lower bound, can be null
+     * @param includeLower Whether the lower bound matches
+     * @param upper        Upper bound, can be null
+     * @param includeUpper Whether the upper bound matches
+     * @return Query
+     */
+    static NumericMetadataQuery range(
+            String field, Number lower, boolean includeLower, Number upper, boolean includeUpper) {
+        return new NumericMetadataQuery(field, lower, includeLower, upper, includeUpper, null);
+    }
+
+    /**
+     * Create a query matching any of the values. The values need to be either all integral or all floating
+     * point.
+     *
+     * @param field  Metadata key
+     * @param values Values
+     * @return Query
+     */
+    static NumericMetadataQuery set(String field, Collection<? extends Number> values) {
+        return new NumericMetadataQuery(field, null, false, null, false, values.toArray(new Number[0]));
+    }
+
+    /**
+     * Whether a value is a byte, short, int or long.
+     */
+    static boolean isIntegral(Object value) {
+        return value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long;
+    }
+
+    /**
+     * Whether a value is a float or a double.
+     */
+    static boolean isFloatingPoint(Object value) {
+        return value instanceof Float || value instanceof Double;
+    }
+
+    @Override
+    public Query rewrite(IndexSearcher indexSearcher) throws IOException {
+        int numBytes = pointNumBytes(indexSearcher.getIndexReader());
+        if (numBytes == 0) {
+            return new MatchNoDocsQuery("No numeric values for " + field);
+        }
+        boolean integral = isIntegral(values != null ? values[0] : lower != null ? lower : upper);
+        if (values != null) {
+            return integral ? integralSet(numBytes) : floatingPointSet(numBytes);
+        }
+        return integral ? integralRange(numBytes) : floatingPointRange(numBytes);
+    }
+
+    private int pointNumBytes(IndexReader reader) {
+        for (LeafReaderContext context : reader.leaves()) {
+            FieldInfo fieldInfo = context.reader().getFieldInfos().fieldInfo(field);
+            if (fieldInfo != null && fieldInfo.getPointDimensionCount() > 0) {
+                return fieldInfo.getPointNumBytes();
+            }
+        }
+        return 0;
+    }
+
+    private Query integralRange(int numBytes) {
+        long min = Long.MIN_VALUE;
+        long max = Long.MAX_VALUE;
+        if (lower != null) {
+            min = lower.longValue();
+            if (!includeLower) {
+                if (min == Long.MAX_VALUE) {
+                    return new MatchNoDocsQuery();
+                }
+                min = min + 1;
+            }
+        }
+        if (upper != null) {
+            max = upper.longValue();
+            if (!includeUpper) {
+                if (max == Long.MIN_VALUE) {
+                    return new MatchNoDocsQuery();
+                }
+                max = max - 1;
+            }
+        }
+        if (numBytes == Long.BYTES) {
+            return LongField.newRangeQuery(field, min, max);
+        }
+        if (min > Integer.MAX_VALUE || max < Integer.MIN_VALUE) {
+            return new MatchNoDocsQuery();
+        }
+        return IntField.newRangeQuery(
+                field, (int) Math.max(min, Integer.MIN_VALUE), (int) Math.min(max, Integer.MAX_VALUE));
+    }
+
+    private Query floatingPointRange(int numBytes) {
+        if (numBytes == Double.BYTES) {
+            double min = Double.NEGATIVE_INFINITY;
+            double max = Double.POSITIVE_INFINITY;
+            if (lower != null) {
+                min = includeLower ? lower.doubleValue() : Math.nextUp(lower.doubleValue());
+            }
+            if (upper != null) {
+                max = includeUpper ? upper.doubleValue() : Math.nextDown(upper.doubleValue());
+            }
+            return DoubleField.newRangeQuery(field, min, max);
+        }
+        float min = Float.NEGATIVE_INFINITY;
+        float max = Float.POSITIVE_INFINITY;
+        if (lower != null) {
+            min = includeLower ? lower.floatValue() : Math.nextUp(lower.floatValue());
+        }
+        if (upper != null) {
+            max = includeUpper ? upper.floatValue() : Math.nextDown(upper.floatValue());
+        }
+        return FloatField.newRangeQuery(field, min, max);
+    }
+
+    private Query integralSet(int numBytes) {
+        if (numBytes == Long.BYTES) {
+            return LongField.newSetQuery(field, Arrays.stream(values).mapToLong(Number::longValue).toArray());
+        }
+        int[] ints = Arrays.stream(values)
+                .mapToLong(Number::longValue)
+                .filter(value -> value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE)
+                .mapToInt(Math::toIntExact)
+                .toArray();
+        return ints.length == 0 ? new MatchNoDocsQuery() : IntField.newSetQuery(field, ints);
+    }
+
+    private Query floatingPointSet(int numBytes) {
+        if (numBytes == Double.BYTES) {
+            return DoubleField.newSetQuery(
+                    field, Arrays.stream(values).mapToDouble(Number::doubleValue).toArray());
+        }
+        float[] floats = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            floats[i] = values[i].floatValue();
+        }
+        return FloatField.newSetQuery(field, floats);
+    }
+
+    @Override
+    public void visit(QueryVisitor visitor) {
+        if (visitor.acceptField(field)) {
+            visitor.visitLeaf(this);
+        }
+    }
+
+    @Override
+    public String toString(String defaultField) {
+        StringBuilder builder = new StringBuilder();
+        if (!field.equals(defaultField)) {
+            builder.append(field).append(':');
+        }
+        if (values != null) {
+            String set = Arrays.stream(values).map(String::valueOf).collect(Collectors.joining(" ", "{", "}"));
+            return builder.append(set).toString();
+        }
+        return builder.append(includeLower ? '[' : '{')
+                .append(lower == null ? "*" : lower)
+                .append(" TO ")
+                .append(upper == null ? "*" : upper)
+                .append(includeUpper ? ']' : '}')
+                .toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!sameClassAs(o)) {
+            return false;
+        }
+        NumericMetadataQuery other = (NumericMetadataQuery) o;
+        return field.equals(other.field)
+                && Objects.equals(lower, other.lower)
+                && includeLower == other.includeLower
+                && Objects.equals(upper, other.upper)
+                && includeUpper == other.includeUpper
+                && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classHash(), field, lower, includeLower, upper, includeUpper, Arrays.hashCode(values));
+    }
+}
@@ -0,0 +1,136 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import dev.langchain4j.data.document.Metadata;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.StoredFieldVisitor;
+
+/**
+ * Loads only the stored fields of a hit that are needed to build a text segment: the content, the token
+ * count, and the requested metadata keys. Visiting stops as soon as all of them have been read, so large
+ * documents with many metadata fields do not have to be fully decoded. Create a new visitor for every
+ * document.
+ */
+class ProjectedFieldsVisitor extends StoredFieldVisitor {
+
+    private final String contentFieldName;
+    private final String tokenCountFieldName;
+    private final Set<String> metadataKeys;
+    private final Set<String> remaining;
+    private final Metadata metadata;
+    private String content;
+    private Integer tokenCount;
+
+    /**
+     * @param contentFieldName    Name of the Lucene field with the text
+     * @param tokenCountFieldName Name of the Lucene field with token counts, or null to not read it
+     * @param metadataKeys        Metadata keys to read, or null to read all other fields
+     */
+    ProjectedFieldsVisitor(String contentFieldName, String tokenCountFieldName, Set<String> metadataKeys) {
+        this.contentFieldName = contentFieldName;
+        this.tokenCountFieldName = tokenCountFieldName;
+        this.metadataKeys = metadataKeys;
+        this.metadata = new Metadata();
+        if (metadataKeys == null) {
+            remaining = null;
+        } else {
+            remaining = new HashSet<>(metadataKeys);
+            remaining.add(contentFieldName);
+            if (tokenCountFieldName != null) {
+                remaining.add(tokenCountFieldName);
+            }
+        }
+    }
+
+    @Override
+    public Status needsField(FieldInfo fieldInfo) {
+        if (remaining == null) {
+            return Status.YES;
+        }
+        if (remaining.isEmpty()) {
+            return Status.STOP;
+        }
+        return remaining.contains(fieldInfo.name) ? Status.YES : Status.NO;
+    }
+
+    @Override
+    public void stringField(FieldInfo fieldInfo, String value) {
+        if (contentFieldName.equals(fieldInfo.name)) {
+            content = value;
+        } else if (isMetadata(fieldInfo)) {
+            metadata.put(fieldInfo.name, value);
+        }
+        visited(fieldInfo);
+    }
+
+    @Override
+    public void intField(FieldInfo fieldInfo, int value) {
+        if (fieldInfo.name.equals(tokenCountFieldName)) {
+            tokenCount = value;
+        }
+        if (isMetadata(fieldInfo)) {
+            metadata.put(fieldInfo.name, value);
+        }
+        visited(fieldInfo);
+    }
+
+    @Override
+    public void longField(FieldInfo fieldInfo, long value) {
+        if (isMetadata(fieldInfo)) {
+            metadata.put(fieldInfo.name, value);
+        }
+        visited(fieldInfo);
+    }
+
+    @Override
+    public void floatField(FieldInfo fieldInfo, float value) {
+        if (isMetadata(fieldInfo)) {
+            metadata.put(fieldInfo.name, value);
+        }
+        visited(fieldInfo);
+    }
+
+    @Override
+    public void doubleField(FieldInfo fieldInfo, double value) {
+        if (isMetadata(fieldInfo)) {
+            metadata.put(fieldInfo.name, value);
+        }
+        visited(fieldInfo);
+    }
+
+    /**
+     * @return Text content, or null if the document does not have any
+     */
+    String content() {
+        return content;
+    }
+
+    /**
+     * @return Stored token count, or null if it was not stored or not read
+     */
+    Integer tokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * @return Metadata from the requested fields
+     */
+    Metadata metadata() {
+        return metadata;
+    }
+
+    private boolean isMetadata(FieldInfo fieldInfo) {
+        if (metadataKeys == null) {
+            // Preserve previous behavior, where all fields other than content are metadata
+            return !contentFieldName.equals(fieldInfo.name);
+        }
+        return metadataKeys.contains(fieldInfo.name);
+    }
+
+    private void visited(FieldInfo fieldInfo) {
+        if (remaining != null) {
+            remaining.remove(fieldInfo.name);
+        }
+    }
+}
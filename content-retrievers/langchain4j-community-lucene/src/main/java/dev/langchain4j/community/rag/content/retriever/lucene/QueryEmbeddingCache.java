@@ -0,0 +1,189 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.data.embedding.Embedding;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, least-recently-used cache of query embeddings, so that repeated queries do not need another
+ * round-trip to the embedding model. Entries are evicted when the cache is full, or when they are older
+ * than the expiry time. Query text is normalized by trimming and collapsing whitespace. Use one cache per
+ * embedding model, since cached vectors are only comparable with the model that created them.
+ */
+public final class QueryEmbeddingCache {
+
+    /**
+     * Builder for `QueryEmbeddingCache`.
+     */
+    public static class QueryEmbeddingCacheBuilder {
+
+        private int maxSize;
+        private Duration expireAfterWrite;
+
+        private QueryEmbeddingCacheBuilder() {
+            // Set defaults
+            maxSize = 1000;
+        }
+
+        /**
+         * Build an instance of `QueryEmbeddingCache` using internal builder field values.
+         *
+         * @return New instance of `QueryEmbeddingCache`
+         */
+        public QueryEmbeddingCache build() {
+            return new QueryEmbeddingCache(maxSize, expireAfterWrite, System::nanoTime);
+        }
+
+        /**
+         * Sets how long an embedding is cached after it was created. By default, embeddings do not expire.
+         *
+         * @param expireAfterWrite Expiry time, or null to not expire
+         * @return Builder
+         */
+        public QueryEmbeddingCacheBuilder expireAfterWrite(Duration expireAfterWrite) {
+            // Can be null
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of cached embeddings.
+         *
+         * @param maxSize Maximum number of entries
+         * @return Builder
+         */
+        public QueryEmbeddingCacheBuilder maxSize(int maxSize) {
+            if (maxSize > 0) {
+                this.maxSize = maxSize;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Instantiate a builder for `QueryEmbeddingCache`.
+     *
+     * @return Builder for `QueryEmbeddingCache`
+     */
+    public static QueryEmbeddingCacheBuilder builder() {
+        return new QueryEmbeddingCacheBuilder();
+    }
+
+    private record Entry(Embedding embedding, long createdNanos) {}
+
+    private final Map<String, Entry> entries;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Initialize all fields.
+     *
+     * @param maxSize          Maximum number of entries
+     * @param expireAfterWrite Expiry time - can be null
+     * @param clock            Nanosecond time source
+     */
+    QueryEmbeddingCache(int maxSize, Duration expireAfterWrite, LongSupplier clock) {
+        int capacity = Math.max(1, maxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.expireAfterWriteNanos = expireAfterWrite == null ? Long.MAX_VALUE : expireAfterWrite.toNanos();
+        this.clock = ensureNotNull(clock, "clock");
+    }
+
+    /**
+     * Get the cached embedding of a query, or create and cache it. The embedding is created outside the
+     * cache lock, so concurrent misses for the same query may call the embedding model more than once.
+     *
+     * @param query    Query text
+     * @param embedder Creates the embedding of the query, may return null
+     * @return Embedding, or null if it could not be created
+     */
+    Embedding get(String query, Function<String, Embedding> embedder) {
+        String key = normalize(query);
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.createdNanos() < expireAfterWriteNanos) {
+                    hits.increment();
+                    return entry.embedding();
+                }
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+
+        Embedding embedding = embedder.apply(query);
+        if (embedding != null) {
+            synchronized (entries) {
+                entries.put(key, new Entry(embedding, now));
+            }
+        }
+        return embedding;
+    }
+
+    /**
+     * Number of lookups answered from the cache.
+     *
+     * @return Hit count
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of lookups that needed the embedding model.
+     *
+     * @return Miss count
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Fraction of lookups answered from the cache.
+     *
+     * @return Hit rate, 0 if there were no lookups
+     */
+    public double hitRate() {
+        long hitCount = hitCount();
+        long lookups = hitCount + missCount();
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Number of cached embeddings, which may include expired entries that have not been evicted yet.
+     *
+     * @return Cache size
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Remove all cached embeddings. Metrics are not reset.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static String normalize(String query) {
+        return query.strip().replaceAll("\\s+", " ");
+    }
+}
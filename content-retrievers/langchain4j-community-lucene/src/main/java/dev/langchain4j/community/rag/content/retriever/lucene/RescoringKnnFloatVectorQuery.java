@@ -0,0 +1,81 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.KnnFloatVectorQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.knn.KnnCollectorManager;
+import org.apache.lucene.util.Bits;
+
+/**
+ * KNN query that oversamples candidates from the (possibly quantized) HNSW graph, rescores them with the
+ * full precision vectors, and keeps the top k.
+ */
+class RescoringKnnFloatVectorQuery extends KnnFloatVectorQuery {
+
+    private final int resultK;
+    private final float[] target;
+
+    /**
+     * Create a rescoring KNN query.
+     *
+     * @param field      Vector field name
+     * @param target     Query vector
+     * @param k          Number of results
+     * @param oversample Number of candidates to rescore for every result
+     * @param filter     Pre-filter, can be null
+     */
+    RescoringKnnFloatVectorQuery(String field, float[] target, int k, int oversample, Query filter) {
+        super(field, target, (int) Math.min(Integer.MAX_VALUE, (long) k * oversample), filter);
+        this.resultK = k;
+        this.target = target.clone();
+    }
+
+    @Override
+    protected TopDocs approximateSearch(
+            LeafReaderContext context, Bits acceptDocs, int visitedLimit, KnnCollectorManager knnCollectorManager)
+            throws IOException {
+        TopDocs candidates = super.approximateSearch(context, acceptDocs, visitedLimit, knnCollectorManager);
+        FieldInfo fieldInfo = context.reader().getFieldInfos().fieldInfo(field);
+        FloatVectorValues vectorValues = context.reader().getFloatVectorValues(field);
+        if (fieldInfo == null || vectorValues == null || candidates.scoreDocs.length == 0) {
+            return candidates;
+        }
+
+        // Vector values can only advance, so rescore in document order
+        ScoreDoc[] scoreDocs = candidates.scoreDocs.clone();
+        Arrays.sort(scoreDocs, Comparator.comparingInt(scoreDoc -> scoreDoc.doc));
+        for (ScoreDoc scoreDoc : scoreDocs) {
+            if (vectorValues.advance(scoreDoc.doc) == scoreDoc.doc) {
+                scoreDoc.score = fieldInfo.getVectorSimilarityFunction().compare(target, vectorValues.vectorValue());
+            }
+        }
+        Arrays.sort(scoreDocs, (a, b) -> Float.compare(b.score, a.score));
+        return new TopDocs(candidates.totalHits, scoreDocs);
+    }
+
+    @Override
+    protected TopDocs mergeLeafResults(TopDocs[] perLeafResults) {
+        return TopDocs.merge(resultK, perLeafResults);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        return resultK == ((RescoringKnnFloatVectorQuery) o).resultK;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), resultK);
+    }
+}
@@ -0,0 +1,17 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+/**
+ * Receives the per-stage timings of every retrieval by a `LuceneContentRetriever`, for example to record
+ * them as metrics or to alert on a slow stage. Called on the retrieving thread, after the results are
+ * collected, so implementations should be fast and thread-safe.
+ */
+@FunctionalInterface
+public interface RetrievalListener {
+
+    /**
+     * Called once for every retrieval that ran a search. Not called when the retrieval failed.
+     *
+     * @param metrics Timings and counts of the retrieval
+     */
+    void onRetrieval(RetrievalMetrics metrics);
+}
@@ -0,0 +1,35 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import java.time.Duration;
+
+/**
+ * Timings and counts of one retrieval by a `LuceneContentRetriever`, reported to a `RetrievalListener`.
+ *
+ * @param embedQuery          Time to embed the query, including the query embedding cache lookup
+ * @param parseQuery          Time to parse the full-text query and build the combined query
+ * @param search              Time to search the index, for all pages of hits
+ * @param loadDocuments       Time to read token counts, stored fields and embeddings of the hits
+ * @param hits                Number of hits returned
+ * @param skippedForTokens    Number of hits skipped because they did not fit in the maximum token count
+ * @param skippedBelowMinScore Number of hits skipped because they scored below the minimum score
+ * @param pages               Number of pages of hits searched
+ */
+public record RetrievalMetrics(
+        Duration embedQuery,
+        Duration parseQuery,
+        Duration search,
+        Duration loadDocuments,
+        int hits,
+        int skippedForTokens,
+        int skippedBelowMinScore,
+        int pages) {
+
+    /**
+     * Time taken by all stages together.
+     *
+     * @return Total retrieval time
+     */
+    public Duration total() {
+        return embedQuery.plus(parseQuery).plus(search).plus(loadDocuments);
+    }
+}
@@ -0,0 +1,88 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.lucene.search.ScoreDoc;
+
+/**
+ * Fusion of ranked full-text and embedding vector search hits into a single ranking.
+ */
+class ScoreFusion {
+
+    /**
+     * Fuse hits by Reciprocal Rank Fusion, where each hit scores `1 / (rankConstant + rank)` for every list
+     * it appears in, with ranks starting at 1.
+     *
+     * @param textHits     Full-text hits, in rank order
+     * @param vectorHits   Embedding vector hits, in rank order
+     * @param rankConstant Rank constant, which reduces the weight of top ranks
+     * @param maxResults   Maximum number of fused hits
+     * @return Fused hits, in rank order
+     */
+    static ScoreDoc[] reciprocalRank(ScoreDoc[] textHits, ScoreDoc[] vectorHits, int rankConstant, int maxResults) {
+        Map<Integer, Float> scores = new LinkedHashMap<>();
+        addReciprocalRanks(scores, textHits, rankConstant);
+        addReciprocalRanks(scores, vectorHits, rankConstant);
+        return topHits(scores, maxResults);
+    }
+
+    /**
+     * Fuse hits by a weighted sum of min-max normalized scores, so that scores on different scales can be
+     * compared.
+     *
+     * @param textHits     Full-text hits, in rank order
+     * @param vectorHits   Embedding vector hits, in rank order
+     * @param vectorWeight Weight of the vector score between 0 and 1, with the full-text score weighted by
+     *                     the remainder
+     * @param maxResults   Maximum number of fused hits
+     * @return Fused hits, in rank order
+     */
+    static ScoreDoc[] weightedScore(ScoreDoc[] textHits, ScoreDoc[] vectorHits, double vectorWeight, int maxResults) {
+        Map<Integer, Float> scores = new LinkedHashMap<>();
+        addNormalizedScores(scores, textHits, 1 - vectorWeight);
+        addNormalizedScores(scores, vectorHits, vectorWeight);
+        return topHits(scores, maxResults);
+    }
+
+    private static void addReciprocalRanks(Map<Integer, Float> scores, ScoreDoc[] hits, int rankConstant) {
+        for (int i = 0; i < hits.length; i++) {
+            float score = 1.0f / (rankConstant + i + 1);
+            scores.merge(hits[i].doc, score, Float::sum);
+        }
+    }
+
+    private static void addNormalizedScores(Map<Integer, Float> scores, ScoreDoc[] hits, double weight) {
+        if (hits.length == 0) {
+            return;
+        }
+        float min = Float.MAX_VALUE;
+        float max = -Float.MAX_VALUE;
+        for (ScoreDoc hit : hits) {
+            min = Math.min(min, hit.score);
+            max = Math.max(max, hit.score);
+        }
+        float range = max - min;
+        for (ScoreDoc hit : hits) {
+            float normalized = range > 0 ? (hit.score - min) / range : 1;
+            scores.merge(hit.doc, (float) (weight * normalized), Float::sum);
+        }
+    }
+
+    private static ScoreDoc[] topHits(Map<Integer, Float> scores, int maxResults) {
+        List<ScoreDoc> fused = new ArrayList<>(scores.size());
+        for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+            fused.add(new ScoreDoc(entry.getKey(), entry.getValue()));
+        }
+        fused.sort(Comparator.comparingDouble((ScoreDoc hit) -> hit.score)
+                .reversed()
+                .thenComparingInt(hit -> hit.doc));
+        return fused.subList(0, Math.min(maxResults, fused.size())).toArray(new ScoreDoc[0]);
+    }
+
+    private ScoreFusion() {
+        // Prevent instantiation
+    }
+}
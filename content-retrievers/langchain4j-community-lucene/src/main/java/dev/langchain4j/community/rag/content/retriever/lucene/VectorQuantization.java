@@ -0,0 +1,21 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+/**
+ * Scalar quantization of embedding vectors in the HNSW graph. Quantized vectors need less memory, at some
+ * cost in recall, which can be recovered by oversampling and rescoring with the full precision vectors.
+ * Full precision vectors are always kept on disk.
+ */
+public enum VectorQuantization {
+    /**
+     * Full precision 32-bit float vectors *
+     */
+    NONE,
+    /**
+     * 8-bit integer vectors (using 7-bit scalar quantization), for about 4x less memory *
+     */
+    INT8,
+    /**
+     * 4-bit integer vectors, compressed two per byte, for about 8x less memory *
+     */
+    INT4
+}
@@ -0,0 +1,72 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.query.Query;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.junit.jupiter.api.Test;
+
+class DirectoryFactoryTest {
+
+    private static final TextSegment textSegment = TextSegment.from("Lucene is a powerful search library.");
+    private static final Query query = Query.from("lucene library");
+
+    @Test
+    void memoryDirectory() throws Exception {
+
+        Directory directory = DirectoryFactory.memoryDirectory();
+        try {
+            assertThat(directory).isInstanceOf(ByteBuffersDirectory.class);
+            assertThat(indexAndRetrieve(directory)).isEqualTo(1);
+        } finally {
+            directory.close();
+        }
+    }
+
+    @Test
+    void preloadedFsDirectory() throws Exception {
+
+        Path directoryPath = Files.createTempDirectory(DirectoryFactoryTest.class.getSimpleName());
+        Directory directory = DirectoryFactory.fsDirectory(directoryPath, Set.of("cfs", "vec", "vex", "tim", "doc"));
+        try {
+            assertThat(directory).isInstanceOf(MMapDirectory.class);
+            assertThat(indexAndRetrieve(directory)).isEqualTo(1);
+        } finally {
+            directory.close();
+        }
+    }
+
+    @Test
+    void warmUp() throws Exception {
+
+        Directory directory = DirectoryFactory.memoryDirectory();
+        try {
+            LuceneEmbeddingStore.builder().directory(directory).build().add(textSegment);
+            LuceneContentRetriever contentRetriever =
+                    LuceneContentRetriever.builder().directory(directory).build();
+
+            Duration elapsed = contentRetriever.warmUp(List.of(query, Query.from("search")));
+
+            assertThat(elapsed).isPositive();
+        } finally {
+            directory.close();
+        }
+    }
+
+    private static int indexAndRetrieve(Directory directory) {
+        LuceneEmbeddingStore.builder().directory(directory).build().add(textSegment);
+        return LuceneContentRetriever.builder()
+                .directory(directory)
+                .build()
+                .retrieve(query)
+                .size();
+    }
+}
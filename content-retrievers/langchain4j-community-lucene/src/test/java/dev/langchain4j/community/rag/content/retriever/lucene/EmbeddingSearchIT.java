@@ -7,6 +7,7 @@ import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
 import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.lucene.store.Directory;
@@ -90,6 +91,45 @@ class EmbeddingSearchIT {
         assertThat(results).hasSize(0);
     }
 
+    @Test
+    @DisplayName("Test search returning embeddings read back from the index")
+    void returnEmbeddings() {
+
+        TextEmbedding query = TextEmbedding.fromResource("query1.txt");
+        LuceneEmbeddingStore store = LuceneEmbeddingStore.builder()
+                .directory(directory)
+                .returnEmbeddings(true)
+                .build();
+
+        EmbeddingSearchRequest embeddingSearchRequest = new EmbeddingSearchRequest(query.embedding(), 10, 0.4, null);
+        List<EmbeddingMatch<TextSegment>> results =
+                store.search(embeddingSearchRequest).matches();
+
+        assertThat(results).hasSize(3);
+        for (EmbeddingMatch<TextSegment> match : results) {
+            TextEmbedding expected = Arrays.stream(hits)
+                    .filter(hit -> hit.text().text().equals(match.embedded().text()))
+                    .findFirst()
+                    .orElseThrow();
+            assertThat(match.embedding()).isNotNull();
+            assertThat(match.embedding().vector())
+                    .containsExactly(expected.embedding().vector());
+        }
+    }
+
+    @Test
+    @DisplayName("Test search not returning embeddings by default")
+    void noEmbeddingsByDefault() {
+
+        TextEmbedding query = TextEmbedding.fromResource("query1.txt");
+
+        EmbeddingSearchRequest embeddingSearchRequest = new EmbeddingSearchRequest(query.embedding(), 10, 0.4, null);
+        List<EmbeddingMatch<TextSegment>> results =
+                indexer.search(embeddingSearchRequest).matches();
+
+        assertThat(results).isNotEmpty().allMatch(match -> match.embedding() == null);
+    }
+
     @BeforeEach
     void setUp() {
         directory = DirectoryFactory.tempDirectory();
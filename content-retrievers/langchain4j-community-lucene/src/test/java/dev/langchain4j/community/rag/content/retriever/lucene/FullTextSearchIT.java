@@ -11,6 +11,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.store.Directory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +44,13 @@ class FullTextSearchIT {
         return metadata;
     }
 
+    private static Document storedTokenCount(String text, int tokens) {
+        Document document = new Document();
+        document.add(new TextField(LuceneDocumentFields.CONTENT_FIELD_NAME.fieldName(), text, Store.YES));
+        document.add(new StoredField(LuceneDocumentFields.TOKEN_COUNT_FIELD_NAME.fieldName(), tokens));
+        return document;
+    }
+
     private Directory directory;
     private LuceneEmbeddingStore indexer;
     private LuceneContentRetriever contentRetriever;
@@ -166,6 +181,162 @@ class FullTextSearchIT {
         assertThat(actualMetadata.getLong("long")).isEqualTo(-1);
     }
 
+    @Test
+    @DisplayName("Test retriever returning only requested metadata keys")
+    void queryWithMetadataKeys() {
+
+        Metadata metadata = metadataName("doc1");
+        metadata.put("int", -1);
+        metadata.put("large", "x".repeat(10_000));
+        TextSegment textSegment = TextSegment.from("Eye of the tiger", metadata);
+
+        indexer.add(textSegment);
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .metadataKeys(List.of("name", "int"))
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(Query.from("Tiger"));
+
+        assertThat(results).hasSize(1);
+        TextSegment actualTextSegment = results.get(0).textSegment();
+        assertThat(actualTextSegment.text()).isEqualTo(textSegment.text());
+        assertThat(actualTextSegment.metadata().toMap()).containsOnlyKeys("name", "int");
+        assertThat(actualTextSegment.metadata().getInteger("int")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Test retriever returning up to max tokens, with token counts from doc values")
+    void queryWithMaxTokensFromDocValues() {
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .maxTokens(8)
+                .tokenCountsFromDocValues(true)
+                .directory(directory)
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(query);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).textSegment().text()).isEqualTo(hits[0].text().text());
+    }
+
+    @Test
+    @DisplayName("Test retriever returning up to max tokens, with token counts only in stored fields")
+    void queryWithMaxTokensFromStoredFields() throws Exception {
+
+        directory.close();
+        directory = DirectoryFactory.tempDirectory();
+
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            writer.addDocument(storedTokenCount("Lucene is a powerful search library, with many features", 30));
+            writer.addDocument(storedTokenCount("Lucene search", 5));
+        }
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .maxTokens(10)
+                .tokenCountsFromDocValues(true)
+                .directory(directory)
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(Query.from("lucene"));
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).textSegment().text()).isEqualTo("Lucene search");
+    }
+
+    @Test
+    @DisplayName("Test retriever using the analyzer of the index")
+    void queryWithIndexAnalyzer() throws Exception {
+
+        directory.close();
+        directory = DirectoryFactory.tempDirectory();
+
+        // Case-sensitive analyzer, without lower-casing
+        Analyzer analyzer = new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                return new TokenStreamComponents(new StandardTokenizer());
+            }
+        };
+        LuceneIndex index =
+                LuceneIndex.builder().directory(directory).analyzer(analyzer).build();
+        indexer = LuceneEmbeddingStore.builder().index(index).build();
+        indexer.add(TextSegment.from("Eye of the Tiger"));
+
+        contentRetriever = LuceneContentRetriever.builder().index(index).build();
+
+        assertThat(contentRetriever.retrieve(Query.from("tiger"))).isEmpty();
+        assertThat(contentRetriever.retrieve(Query.from("Tiger"))).hasSize(1);
+        // Parsed query is cached
+        assertThat(contentRetriever.retrieve(Query.from("Tiger"))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Test retriever paging past documents that do not fit in max tokens")
+    void queryWithMaxTokensPaging() {
+
+        for (int i = 0; i < 5; i++) {
+            indexer.add(TextSegment.from("tiger " + "lorem ipsum dolor sit amet ".repeat(10), metadataName("large")));
+        }
+        indexer.add(TextSegment.from("cat", metadataName("small")));
+        indexer.add(TextSegment.from("cat", metadataName("small")));
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .maxResults(2)
+                .maxTokens(10)
+                .directory(directory)
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(Query.from("tiger cat^0.01"));
+
+        assertThat(results).hasSize(2);
+        assertThat(results).allMatch(content -> "small"
+                .equals(content.textSegment().metadata().getString("name")));
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .maxResults(2)
+                .maxTokens(10)
+                .maxSearchPages(1)
+                .directory(directory)
+                .build();
+
+        assertThat(contentRetriever.retrieve(Query.from("tiger cat^0.01"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test retriever reporting stage timings and skipped hits to a listener")
+    void queryWithListener() {
+
+        for (int i = 0; i < 5; i++) {
+            indexer.add(TextSegment.from("tiger " + "lorem ipsum dolor sit amet ".repeat(10), metadataName("large")));
+        }
+        indexer.add(TextSegment.from("cat", metadataName("small")));
+        indexer.add(TextSegment.from("cat", metadataName("small")));
+
+        List<RetrievalMetrics> retrievals = new ArrayList<>();
+        contentRetriever = LuceneContentRetriever.builder()
+                .maxResults(2)
+                .maxTokens(10)
+                .listener(retrievals::add)
+                .directory(directory)
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(Query.from("tiger cat^0.01"));
+
+        assertThat(results).hasSize(2);
+        assertThat(retrievals).hasSize(1);
+        RetrievalMetrics metrics = retrievals.get(0);
+        assertThat(metrics.hits()).isEqualTo(2);
+        assertThat(metrics.skippedForTokens()).isEqualTo(5);
+        assertThat(metrics.skippedBelowMinScore()).isZero();
+        assertThat(metrics.pages()).isEqualTo(4);
+        assertThat(metrics.search()).isPositive();
+        assertThat(metrics.loadDocuments()).isPositive();
+        assertThat(metrics.total()).isGreaterThanOrEqualTo(metrics.search().plus(metrics.loadDocuments()));
+    }
+
     @Test
     @DisplayName("Test retriever returning documents greater than a minimum score")
     void queryWithMinScore() {
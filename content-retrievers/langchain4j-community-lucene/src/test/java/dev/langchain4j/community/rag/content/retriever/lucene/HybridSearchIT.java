@@ -4,11 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import dev.langchain4j.community.rag.content.retriever.lucene.utility.TextEmbedding;
 import dev.langchain4j.community.rag.content.retriever.lucene.utility.TextEmbeddingModel;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.content.ContentMetadata;
 import dev.langchain4j.rag.query.Query;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import org.apache.lucene.store.Directory;
 import org.junit.jupiter.api.AfterEach;
@@ -27,6 +32,12 @@ class HybridSearchIT {
         TextEmbedding.fromResource("missDoc1.txt"),
     };
 
+    private static Metadata metadataName(String name) {
+        Metadata metadata = new Metadata();
+        metadata.put("name", name);
+        return metadata;
+    }
+
     private Directory directory;
     private LuceneEmbeddingStore indexer;
     private LuceneContentRetriever contentRetriever;
@@ -102,6 +113,179 @@ class HybridSearchIT {
         assertThat(results).hasSize(0);
     }
 
+    @Test
+    @DisplayName("Test retriever using hybrid search with reciprocal rank fusion")
+    void hybridQueryReciprocalRank() {
+
+        TextEmbedding query = TextEmbedding.fromResource("query1.txt");
+        String queryText = query.text().text();
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .embeddingModel(new TextEmbeddingModel(query))
+                .fusionStrategy(FusionStrategy.RECIPROCAL_RANK)
+                .maxResults(3)
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(Query.from(queryText));
+        debugQuery(query, results);
+        List<String> actualTextSegments =
+                results.stream().map(content -> content.textSegment().text()).collect(Collectors.toList());
+
+        assertThat(results).hasSize(3);
+        assertThat(actualTextSegments)
+                .containsExactlyInAnyOrder(
+                        hits[0].text().text(),
+                        hits[1].text().text(),
+                        hits[2].text().text());
+    }
+
+    @Test
+    @DisplayName("Test retriever using hybrid search with weighted score fusion")
+    void hybridQueryWeightedScore() {
+
+        TextEmbedding query = TextEmbedding.fromResource("query1.txt");
+        String queryText = query.text().text();
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .embeddingModel(new TextEmbeddingModel(query))
+                .fusionStrategy(FusionStrategy.WEIGHTED_SCORE)
+                .vectorWeight(0.5)
+                .minScore(0.4)
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(Query.from(queryText));
+        debugQuery(query, results);
+
+        assertThat(results).isNotEmpty();
+        assertThat(results).allMatch(content -> (double) content.metadata().get(ContentMetadata.SCORE) <= 1.0);
+    }
+
+    @Test
+    @DisplayName("Test retriever using hybrid search with concurrent segment search")
+    void hybridQueryConcurrent() {
+
+        TextEmbedding query = TextEmbedding.fromResource("query1.txt");
+        String queryText = query.text().text();
+
+        List<String> expectedTextSegments = new ArrayList<>();
+        expectedTextSegments.add(hits[1].text().text());
+        expectedTextSegments.add(hits[0].text().text());
+        expectedTextSegments.add(hits[2].text().text());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            contentRetriever = LuceneContentRetriever.builder()
+                    .directory(directory)
+                    .embeddingModel(new TextEmbeddingModel(query))
+                    .minScore(0.4f)
+                    .executor(executor)
+                    .maxDocsPerSlice(1)
+                    .maxSegmentsPerSlice(1)
+                    .build();
+
+            List<Content> results = contentRetriever.retrieve(Query.from(queryText));
+            debugQuery(query, results);
+            List<String> actualTextSegments = results.stream()
+                    .map(content -> content.textSegment().text())
+                    .collect(Collectors.toList());
+
+            assertThat(actualTextSegments).isEqualTo(expectedTextSegments);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test retriever using hybrid search with concurrent reciprocal rank fusion")
+    void hybridQueryReciprocalRankConcurrent() {
+
+        TextEmbedding query = TextEmbedding.fromResource("query1.txt");
+        String queryText = query.text().text();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            contentRetriever = LuceneContentRetriever.builder()
+                    .directory(directory)
+                    .embeddingModel(new TextEmbeddingModel(query))
+                    .fusionStrategy(FusionStrategy.RECIPROCAL_RANK)
+                    .maxResults(3)
+                    .executor(executor)
+                    .maxSegmentsPerSlice(1)
+                    .build();
+
+            List<Content> results = contentRetriever.retrieve(Query.from(queryText));
+            List<String> actualTextSegments = results.stream()
+                    .map(content -> content.textSegment().text())
+                    .collect(Collectors.toList());
+
+            assertThat(actualTextSegments)
+                    .containsExactlyInAnyOrder(
+                            hits[0].text().text(),
+                            hits[1].text().text(),
+                            hits[2].text().text());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test retriever using hybrid search with a query embedding cache")
+    void hybridQueryCachedEmbedding() {
+
+        TextEmbedding query = TextEmbedding.fromResource("query1.txt");
+        String queryText = query.text().text();
+
+        QueryEmbeddingCache cache = QueryEmbeddingCache.builder().build();
+        contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .embeddingModel(new TextEmbeddingModel(query))
+                .queryEmbeddingCache(cache)
+                .minScore(0.4f)
+                .build();
+
+        List<Content> first = contentRetriever.retrieve(Query.from(queryText));
+        List<Content> second = contentRetriever.retrieve(Query.from(queryText));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test retriever paging past embedding vector matches that do not fit in max tokens")
+    void hybridQueryWithMaxTokensPaging() throws Exception {
+
+        directory.close();
+        directory = DirectoryFactory.tempDirectory();
+        indexer = LuceneEmbeddingStore.builder().directory(directory).build();
+
+        // Nearest neighbors are too large, and the small documents only match the embedding vector
+        for (int i = 0; i < 5; i++) {
+            indexer.add(
+                    Embedding.from(new float[] {1, 0, 0}),
+                    TextSegment.from("lorem ipsum dolor sit amet ".repeat(10), metadataName("large")));
+        }
+        indexer.add(Embedding.from(new float[] {1, 0.5f, 0}), TextSegment.from("cat", metadataName("small")));
+        indexer.add(Embedding.from(new float[] {1, 0.5f, 0}), TextSegment.from("cat", metadataName("small")));
+
+        TextEmbedding query =
+                new TextEmbedding("query", TextSegment.from("tiger"), Embedding.from(new float[] {1, 0, 0}));
+        contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .embeddingModel(new TextEmbeddingModel(query))
+                .maxResults(2)
+                .maxTokens(10)
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(Query.from("tiger"));
+
+        assertThat(results).hasSize(2);
+        assertThat(results).allMatch(content -> "small"
+                .equals(content.textSegment().metadata().getString("name")));
+    }
+
     @BeforeEach
     void setUp() {
         directory = DirectoryFactory.tempDirectory();
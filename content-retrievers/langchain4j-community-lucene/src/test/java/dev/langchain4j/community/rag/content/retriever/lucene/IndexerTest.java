@@ -1,15 +1,24 @@
 package dev.langchain4j.community.rag.content.retriever.lucene;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.query.Query;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FilterDirectory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -108,6 +117,120 @@ class IndexerTest {
         assertThat(results.get(0).textSegment().text()).isEqualTo(textSegment.text());
     }
 
+    @Test
+    void bulkAddAll() throws Exception {
+
+        indexer = LuceneEmbeddingStore.builder()
+                .directory(directory)
+                .ingestionThreads(4)
+                .ingestionBatchSize(100)
+                .build();
+
+        List<TextSegment> textSegments = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            textSegments.add(TextSegment.from("Lucene document " + i, metadataName("doc" + i)));
+        }
+
+        BulkIngestionResult result = indexer.bulkAddAll(null, null, textSegments);
+
+        assertThat(result.indexed()).isEqualTo(1000);
+        assertThat(result.failed()).isZero();
+        assertThat(result.documentsPerSecond()).isPositive();
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.numDocs()).isEqualTo(1000);
+        }
+
+        List<Content> results = contentRetriever.retrieve(Query.from("\"Lucene document 123\""));
+        assertThat(results).isNotEmpty();
+        assertThat(results.get(0).textSegment().metadata().getString("name")).isEqualTo("doc123");
+    }
+
+    @Test
+    void bulkAddAllWithExecutor() {
+
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = task -> {
+            tasks.incrementAndGet();
+            task.run();
+        };
+        indexer = LuceneEmbeddingStore.builder()
+                .directory(directory)
+                .ingestionExecutor(executor)
+                .ingestionBatchSize(10)
+                .build();
+
+        List<TextSegment> textSegments = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            textSegments.add(TextSegment.from("Lucene document " + i));
+        }
+
+        BulkIngestionResult result = indexer.bulkAddAll(null, null, textSegments);
+
+        assertThat(result.indexed()).isEqualTo(25);
+        assertThat(tasks).hasValue(3);
+    }
+
+    @Test
+    void bulkAddAllCommitFailure() throws Exception {
+
+        AtomicBoolean failSync = new AtomicBoolean(true);
+        Directory failingDirectory = new FilterDirectory(DirectoryFactory.memoryDirectory()) {
+            @Override
+            public void sync(Collection<String> names) throws IOException {
+                if (failSync.get()) {
+                    throw new IOException("Disk full");
+                }
+                super.sync(names);
+            }
+        };
+        try (LuceneEmbeddingStore failingIndexer =
+                LuceneEmbeddingStore.builder().directory(failingDirectory).build()) {
+
+            BulkIngestionResult result = failingIndexer.bulkAddAll(null, null, List.of(textSegment));
+
+            assertThat(result.indexed()).isZero();
+            assertThat(result.failed()).isEqualTo(1);
+            failSync.set(false);
+        } finally {
+            failingDirectory.close();
+        }
+    }
+
+    @Test
+    void bulkAddAllBatchFailure() throws Exception {
+
+        indexer = LuceneEmbeddingStore.builder()
+                .directory(directory)
+                .ingestionExecutor(Runnable::run)
+                .ingestionBatchSize(2)
+                .build();
+
+        // The third embedding has a different dimension, so the second batch stops there
+        List<Embedding> embeddings = List.of(
+                Embedding.from(new float[] {1, 0, 0}),
+                Embedding.from(new float[] {0, 1, 0}),
+                Embedding.from(new float[] {0, 1}),
+                Embedding.from(new float[] {0, 0, 1}));
+
+        BulkIngestionResult result = indexer.bulkAddAll(null, embeddings, null);
+
+        assertThat(result.indexed()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(2);
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.numDocs()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void bulkAddAllAfterClose() throws Exception {
+
+        indexer = LuceneEmbeddingStore.builder().directory(directory).build();
+        indexer.close();
+
+        assertThatThrownBy(() -> indexer.bulkAddAll(null, null, List.of(textSegment)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
     @BeforeEach
     void setUp() {
         directory = DirectoryFactory.tempDirectory();
@@ -0,0 +1,192 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class LuceneIndexTest {
+
+    private static final TextSegment textSegment = TextSegment.from("Lucene is a powerful search library.");
+    private static final Query query = Query.from("lucene library");
+
+    private Directory directory;
+
+    @Test
+    void sharedForDirectory() throws Exception {
+
+        LuceneIndex index = LuceneIndex.acquire(directory);
+
+        assertThat(LuceneIndex.acquire(directory)).isSameAs(index);
+        assertThatThrownBy(() -> LuceneIndex.builder().directory(directory).build())
+                .isInstanceOf(IllegalStateException.class);
+
+        index.release();
+        assertThat(index.isOpen()).isTrue();
+        index.release();
+        assertThat(index.isOpen()).isFalse();
+    }
+
+    @Test
+    void reopenedAfterClose() throws Exception {
+
+        LuceneIndex index = LuceneIndex.acquire(directory);
+        index.close();
+
+        assertThat(index.isOpen()).isFalse();
+        LuceneIndex reopened = LuceneIndex.acquire(directory);
+        assertThat(reopened).isNotSameAs(index);
+        reopened.release();
+    }
+
+    @Test
+    void closedWithLastStore() throws Exception {
+
+        LuceneEmbeddingStore indexer1 =
+                LuceneEmbeddingStore.builder().directory(directory).build();
+        LuceneEmbeddingStore indexer2 =
+                LuceneEmbeddingStore.builder().directory(directory).build();
+        indexer1.add(textSegment);
+
+        indexer1.close();
+        indexer1.close();
+        indexer2.add(textSegment);
+        indexer2.close();
+
+        // Write lock is released, so an index can be built for the directory
+        LuceneIndex index = LuceneIndex.builder().directory(directory).build();
+        assertThat(index.writer().getDocStats().numDocs).isEqualTo(2);
+        index.close();
+    }
+
+    @Test
+    void visibleAfterWrite() throws Exception {
+
+        try (LuceneEmbeddingStore indexer =
+                        LuceneEmbeddingStore.builder().directory(directory).build();
+                LuceneContentRetriever contentRetriever =
+                        LuceneContentRetriever.builder().directory(directory).build()) {
+
+            assertThat(contentRetriever.retrieve(query)).isEmpty();
+
+            indexer.add(textSegment);
+
+            List<Content> results = contentRetriever.retrieve(query);
+
+            assertThat(results).hasSize(1);
+        }
+    }
+
+    @Test
+    void backgroundCommitAndRefresh() throws Exception {
+
+        LuceneIndex index = LuceneIndex.builder()
+                .directory(directory)
+                .commitInterval(Duration.ofHours(1))
+                .refreshInterval(Duration.ofHours(1))
+                .build();
+        LuceneEmbeddingStore indexer =
+                LuceneEmbeddingStore.builder().index(index).build();
+        LuceneContentRetriever contentRetriever =
+                LuceneContentRetriever.builder().index(index).build();
+
+        indexer.add(textSegment);
+
+        // Not yet refreshed or committed
+        assertThat(contentRetriever.retrieve(query)).isEmpty();
+        assertThat(DirectoryReader.indexExists(directory)).isFalse();
+
+        index.refresh();
+        assertThat(contentRetriever.retrieve(query)).hasSize(1);
+
+        index.commit();
+        assertThat(DirectoryReader.indexExists(directory)).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(VectorQuantization.class)
+    void quantizedVectors(VectorQuantization vectorQuantization) throws Exception {
+
+        LuceneIndex index = LuceneIndex.builder()
+                .directory(directory)
+                .vectorQuantization(vectorQuantization)
+                .hnswMaxConnections(8)
+                .hnswBeamWidth(50)
+                .build();
+        LuceneEmbeddingStore indexer = LuceneEmbeddingStore.builder()
+                .index(index)
+                .returnEmbeddings(true)
+                .vectorOversample(4)
+                .build();
+
+        Random random = new Random(42);
+        List<Embedding> embeddings = new ArrayList<>();
+        List<TextSegment> textSegments = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            float[] vector = new float[32];
+            for (int j = 0; j < vector.length; j++) {
+                vector[j] = random.nextFloat();
+            }
+            embeddings.add(Embedding.from(vector));
+            textSegments.add(TextSegment.from("Document " + i));
+        }
+        indexer.addAll(null, embeddings, textSegments);
+
+        Embedding queryEmbedding = embeddings.get(7);
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .maxResults(3)
+                .build();
+        List<EmbeddingMatch<TextSegment>> matches = indexer.search(request).matches();
+
+        assertThat(matches).hasSize(3);
+        assertThat(matches.get(0).embedded().text()).isEqualTo("Document 7");
+        assertThat(matches.get(0).embedding().vector()).containsExactly(queryEmbedding.vector());
+
+        IndexSearcher searcher = index.acquireSearcher();
+        try {
+            String vectorsFormat = searcher.getIndexReader()
+                    .leaves()
+                    .get(0)
+                    .reader()
+                    .getFieldInfos()
+                    .fieldInfo(LuceneDocumentFields.EMBEDDING_FIELD_NAME.fieldName())
+                    .getAttribute(PerFieldKnnVectorsFormat.PER_FIELD_FORMAT_KEY);
+            if (vectorQuantization == VectorQuantization.NONE) {
+                assertThat(vectorsFormat).isEqualTo("Lucene99HnswVectorsFormat");
+            } else {
+                assertThat(vectorsFormat).isEqualTo("Lucene99HnswScalarQuantizedVectorsFormat");
+            }
+        } finally {
+            index.releaseSearcher(searcher);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        directory = DirectoryFactory.tempDirectory();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        directory.close();
+    }
+}
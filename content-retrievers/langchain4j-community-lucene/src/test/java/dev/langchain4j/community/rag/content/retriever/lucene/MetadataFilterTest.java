@@ -0,0 +1,152 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MetadataFilterTest {
+
+    private static final Embedding queryEmbedding = Embedding.from(new float[] {1, 0, 0});
+
+    private static TextSegment textSegment(String name, String tenant, int year, double rating, long views) {
+        Metadata metadata = new Metadata();
+        metadata.put("name", name);
+        metadata.put("tenant", tenant);
+        metadata.put("year", year);
+        metadata.put("rating", rating);
+        metadata.put("views", views);
+        return TextSegment.from("Lucene document " + name, metadata);
+    }
+
+    private Directory directory;
+    private LuceneEmbeddingStore indexer;
+
+    @Test
+    void isEqualTo() {
+        assertThat(search(metadataKey("tenant").isEqualTo("a"))).containsExactly("doc1", "doc2");
+    }
+
+    @Test
+    void isNotEqualTo() {
+        assertThat(search(metadataKey("tenant").isNotEqualTo("a"))).containsExactly("doc3", "doc4");
+    }
+
+    @Test
+    void isIn() {
+        assertThat(search(metadataKey("year").isIn(2021, 2023))).containsExactly("doc2", "doc4");
+    }
+
+    @Test
+    void isNotIn() {
+        assertThat(search(metadataKey("tenant").isNotIn("a", "b"))).isEmpty();
+    }
+
+    @Test
+    void ranges() {
+        assertThat(search(metadataKey("year").isGreaterThan(2021))).containsExactly("doc3", "doc4");
+        assertThat(search(metadataKey("year").isGreaterThanOrEqualTo(2021))).containsExactly("doc2", "doc3", "doc4");
+        assertThat(search(metadataKey("rating").isLessThan(3.0))).containsExactly("doc1", "doc2");
+        assertThat(search(metadataKey("rating").isLessThanOrEqualTo(3.0))).containsExactly("doc1", "doc2", "doc3");
+    }
+
+    @Test
+    void integerAndLongValues() {
+        assertThat(search(metadataKey("year").isEqualTo(2021L))).containsExactly("doc2");
+        assertThat(search(metadataKey("year").isGreaterThan(2021L))).containsExactly("doc3", "doc4");
+        assertThat(search(metadataKey("year").isIn(List.of(2021L, 2023)))).containsExactly("doc2", "doc4");
+        assertThat(search(metadataKey("views").isEqualTo(200))).containsExactly("doc2");
+        assertThat(search(metadataKey("views").isLessThanOrEqualTo(200))).containsExactly("doc1", "doc2");
+        assertThat(search(metadataKey("views").isIn(100, 400))).containsExactly("doc1", "doc4");
+    }
+
+    @Test
+    void longValuesOutsideIntRange() {
+        assertThat(search(metadataKey("year").isEqualTo(Long.MAX_VALUE))).isEmpty();
+        assertThat(search(metadataKey("year").isIn(List.of(Long.MAX_VALUE)))).isEmpty();
+        assertThat(search(metadataKey("year").isLessThan(5_000_000_000L)))
+                .containsExactly("doc1", "doc2", "doc3", "doc4");
+    }
+
+    @Test
+    void floatAndDoubleValues() {
+        assertThat(search(metadataKey("rating").isEqualTo(2.0f))).containsExactly("doc2");
+        assertThat(search(metadataKey("rating").isLessThan(3.0f))).containsExactly("doc1", "doc2");
+    }
+
+    @Test
+    void mixedIsIn() {
+        assertThatThrownBy(() -> search(metadataKey("year").isIn(List.of(2021, "2023"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("year");
+        assertThatThrownBy(() -> search(metadataKey("rating").isIn(List.of(2, 3.0))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rating");
+    }
+
+    @Test
+    void logical() {
+        Filter tenantA = metadataKey("tenant").isEqualTo("a");
+        Filter recent = metadataKey("year").isGreaterThan(2021);
+
+        assertThat(search(tenantA.and(recent))).isEmpty();
+        assertThat(search(tenantA.or(recent))).containsExactly("doc1", "doc2", "doc3", "doc4");
+        assertThat(search(Filter.not(tenantA).and(recent))).containsExactly("doc3", "doc4");
+    }
+
+    @Test
+    void retrieverFilter() {
+
+        LuceneContentRetriever contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .filter(metadataKey("tenant").isEqualTo("b"))
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(Query.from("lucene"));
+
+        assertThat(results).hasSize(2);
+        assertThat(results)
+                .allMatch(content -> "b".equals(content.textSegment().metadata().getString("tenant")));
+    }
+
+    @BeforeEach
+    void setUp() {
+        directory = DirectoryFactory.tempDirectory();
+        indexer = LuceneEmbeddingStore.builder().directory(directory).build();
+        indexer.add(Embedding.from(new float[] {1, 0, 0}), textSegment("doc1", "a", 2020, 1.0, 100L));
+        indexer.add(Embedding.from(new float[] {1, 0.2f, 0}), textSegment("doc2", "a", 2021, 2.0, 200L));
+        indexer.add(Embedding.from(new float[] {1, 0.4f, 0}), textSegment("doc3", "b", 2022, 3.0, 300L));
+        indexer.add(Embedding.from(new float[] {1, 0.6f, 0}), textSegment("doc4", "b", 2023, 4.0, 400L));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        directory.close();
+    }
+
+    private List<String> search(Filter filter) {
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .maxResults(10)
+                .filter(filter)
+                .build();
+        return indexer.search(request).matches().stream()
+                .map(EmbeddingMatch::embedded)
+                .map(textSegment -> textSegment.metadata().getString("name"))
+                .collect(Collectors.toList());
+    }
+}
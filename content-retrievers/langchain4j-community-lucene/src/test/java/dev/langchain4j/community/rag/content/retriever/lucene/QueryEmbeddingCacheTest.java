@@ -0,0 +1,77 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.embedding.Embedding;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class QueryEmbeddingCacheTest {
+
+    private final AtomicInteger embedCalls = new AtomicInteger();
+    private final Function<String, Embedding> embedder = query -> {
+        embedCalls.incrementAndGet();
+        return Embedding.from(new float[] {query.length()});
+    };
+
+    @Test
+    void hitsForNormalizedQuery() {
+
+        QueryEmbeddingCache cache = QueryEmbeddingCache.builder().build();
+
+        Embedding first = cache.get("what is lucene?", embedder);
+        Embedding second = cache.get("  what   is lucene?\n", embedder);
+
+        assertThat(second).isSameAs(first);
+        assertThat(embedCalls).hasValue(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+
+        QueryEmbeddingCache cache = QueryEmbeddingCache.builder().maxSize(2).build();
+
+        cache.get("a", embedder);
+        cache.get("b", embedder);
+        cache.get("a", embedder);
+        cache.get("c", embedder);
+
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.get("a", embedder);
+        cache.get("b", embedder);
+
+        assertThat(embedCalls).hasValue(4);
+    }
+
+    @Test
+    void expiresAfterWrite() {
+
+        AtomicLong clock = new AtomicLong();
+        QueryEmbeddingCache cache = new QueryEmbeddingCache(10, Duration.ofSeconds(1), clock::get);
+
+        cache.get("a", embedder);
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        cache.get("a", embedder);
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        cache.get("a", embedder);
+
+        assertThat(embedCalls).hasValue(2);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheMissingEmbeddings() {
+
+        QueryEmbeddingCache cache = QueryEmbeddingCache.builder().build();
+
+        assertThat(cache.get("a", query -> null)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}
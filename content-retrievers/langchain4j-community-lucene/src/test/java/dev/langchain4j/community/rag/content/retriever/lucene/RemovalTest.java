@@ -0,0 +1,141 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RemovalTest {
+
+    private static final Embedding embedding = Embedding.from(new float[] {1, 0, 0});
+
+    private static TextSegment textSegment(String name, String tenant) {
+        Metadata metadata = new Metadata();
+        metadata.put("name", name);
+        metadata.put("tenant", tenant);
+        return TextSegment.from("Lucene document " + name, metadata);
+    }
+
+    private Directory directory;
+    private LuceneIndex index;
+    private LuceneEmbeddingStore indexer;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void upsert(boolean softDeletes) throws Exception {
+
+        index.close();
+        index = LuceneIndex.builder()
+                .directory(directory)
+                .softDeletes(softDeletes)
+                .build();
+        indexer = LuceneEmbeddingStore.builder().index(index).build();
+
+        for (int i = 0; i < 3; i++) {
+            indexer.add("id1", embedding, textSegment("doc1", "a"));
+            indexer.addAll(
+                    List.of("id2", "id3"),
+                    List.of(embedding, embedding),
+                    List.of(textSegment("doc2", "a"), textSegment("doc3-v" + i, "b")));
+        }
+
+        assertThat(numDocs()).isEqualTo(3);
+        assertThat(search()).containsExactlyInAnyOrder("doc1", "doc2", "doc3-v2");
+
+        index.writer().forceMergeDeletes();
+        index.commit();
+        assertThat(index.writer().getDocStats().maxDoc).isEqualTo(3);
+    }
+
+    @Test
+    void bulkUpsert() throws Exception {
+
+        indexer.bulkAddAll(List.of("id1"), List.of(embedding), List.of(textSegment("doc1-v2", "a")));
+
+        assertThat(numDocs()).isEqualTo(3);
+        assertThat(search()).containsExactlyInAnyOrder("doc1-v2", "doc2", "doc3");
+    }
+
+    @Test
+    void remove() throws Exception {
+
+        indexer.remove("id1");
+
+        assertThat(numDocs()).isEqualTo(2);
+        assertThat(search()).containsExactlyInAnyOrder("doc2", "doc3");
+    }
+
+    @Test
+    void removeAllIds() throws Exception {
+
+        indexer.removeAll(List.of("id1", "id3", "unknown"));
+
+        assertThat(search()).containsExactly("doc2");
+    }
+
+    @Test
+    void removeAllFilter() throws Exception {
+
+        indexer.removeAll(metadataKey("tenant").isEqualTo("a"));
+
+        assertThat(search()).containsExactly("doc3");
+    }
+
+    @Test
+    void removeAll() throws Exception {
+
+        indexer.removeAll();
+
+        assertThat(numDocs()).isZero();
+    }
+
+    @BeforeEach
+    void setUp() {
+        directory = DirectoryFactory.tempDirectory();
+        index = LuceneIndex.builder().directory(directory).build();
+        indexer = LuceneEmbeddingStore.builder().index(index).build();
+        indexer.addAll(
+                List.of("id1", "id2", "id3"),
+                List.of(embedding, embedding, embedding),
+                List.of(textSegment("doc1", "a"), textSegment("doc2", "a"), textSegment("doc3", "b")));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+        directory.close();
+    }
+
+    private int numDocs() throws Exception {
+        IndexSearcher searcher = index.acquireSearcher();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            index.releaseSearcher(searcher);
+        }
+    }
+
+    private List<String> search() {
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embedding)
+                .maxResults(10)
+                .build();
+        return indexer.search(request).matches().stream()
+                .map(EmbeddingMatch::embedded)
+                .map(textSegment -> textSegment.metadata().getString("name"))
+                .collect(Collectors.toList());
+    }
+}
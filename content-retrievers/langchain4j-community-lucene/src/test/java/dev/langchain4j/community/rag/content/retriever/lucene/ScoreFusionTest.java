@@ -0,0 +1,61 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import org.apache.lucene.search.ScoreDoc;
+import org.junit.jupiter.api.Test;
+
+class ScoreFusionTest {
+
+    private static final ScoreDoc[] textHits = {new ScoreDoc(1, 12.0f), new ScoreDoc(2, 6.0f), new ScoreDoc(3, 3.0f)};
+    private static final ScoreDoc[] vectorHits = {new ScoreDoc(3, 0.9f), new ScoreDoc(1, 0.8f), new ScoreDoc(4, 0.7f)};
+
+    @Test
+    void reciprocalRank() {
+
+        ScoreDoc[] fused = ScoreFusion.reciprocalRank(textHits, vectorHits, 60, 10);
+
+        assertThat(docs(fused)).containsExactly(1, 3, 2, 4);
+        assertThat(fused[0].score).isEqualTo(1.0f / 61 + 1.0f / 62);
+    }
+
+    @Test
+    void reciprocalRankMaxResults() {
+
+        ScoreDoc[] fused = ScoreFusion.reciprocalRank(textHits, vectorHits, 60, 2);
+
+        assertThat(docs(fused)).containsExactly(1, 3);
+    }
+
+    @Test
+    void weightedScore() {
+
+        ScoreDoc[] fused = ScoreFusion.weightedScore(textHits, vectorHits, 0.5, 10);
+
+        assertThat(docs(fused)).containsExactly(1, 3, 2, 4);
+        assertThat(fused[0].score).isCloseTo(0.75f, within(0.0001f));
+    }
+
+    @Test
+    void weightedScoreOnlyVector() {
+
+        ScoreDoc[] fused = ScoreFusion.weightedScore(textHits, vectorHits, 1, 10);
+
+        assertThat(docs(fused)).startsWith(3, 1);
+    }
+
+    @Test
+    void emptyHits() {
+
+        assertThat(ScoreFusion.reciprocalRank(new ScoreDoc[0], new ScoreDoc[0], 60, 10))
+                .isEmpty();
+        assertThat(docs(ScoreFusion.weightedScore(new ScoreDoc[0], vectorHits, 0.5, 10)))
+                .containsExactly(3, 1, 4);
+    }
+
+    private static int[] docs(ScoreDoc[] scoreDocs) {
+        return Arrays.stream(scoreDocs).mapToInt(scoreDoc -> scoreDoc.doc).toArray();
+    }
+}
@@ -1,6 +1,5 @@
 package dev.langchain4j.community.store.embedding.clickhouse;
 
-import static dev.langchain4j.community.store.embedding.clickhouse.ClickHouseJsonUtils.toJson;
 import static dev.langchain4j.community.store.embedding.clickhouse.ClickHouseMappingKey.DISTANCE_COLUMN_NAME;
 import static dev.langchain4j.community.store.embedding.clickhouse.ClickHouseMappingKey.EMBEDDING_MAPPING_KEY;
 import static dev.langchain4j.community.store.embedding.clickhouse.ClickHouseMappingKey.ID_MAPPING_KEY;
@@ -17,6 +16,7 @@ import static java.util.stream.Collectors.toList;
 import com.clickhouse.client.api.Client;
 import com.clickhouse.client.api.data_formats.internal.BinaryStreamReader;
 import com.clickhouse.client.api.insert.InsertResponse;
+import com.clickhouse.client.api.insert.InsertSettings;
 import com.clickhouse.client.api.metrics.ServerMetrics;
 import com.clickhouse.client.api.query.GenericRecord;
 import com.clickhouse.client.api.query.Records;
@@ -31,9 +31,6 @@ import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.RelevanceScore;
 import dev.langchain4j.store.embedding.filter.Filter;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -241,17 +238,14 @@ public class ClickHouseEmbeddingStore implements EmbeddingStore<TextSegment>, Au
         ensureTrue(
                 embedded == null || embeddings.size() == embedded.size(),
                 "embeddings size is not equal to embedded size");
-        int length = ids.size();
-
-        List<Map<String, Object>> dataList = new ArrayList<>();
-        for (int i = 0; i < length; i++) {
-            dataList.add(toInsertData(ids.get(i), embeddings.get(i), embedded == null ? null : embedded.get(i)));
-        }
-
-        String json = toJson(dataList);
-        InputStream inputStream = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
-
-        try (InsertResponse response = client.insert(settings.getTable(), inputStream, ClickHouseFormat.JSON)
+        ClickHouseRowBinaryWriter writer = new ClickHouseRowBinaryWriter(settings, ids, embeddings, embedded);
+
+        try (InsertResponse response = client.insert(
+                        settings.getTable(),
+                        writer.columnNames(),
+                        writer,
+                        ClickHouseFormat.RowBinary,
+                        new InsertSettings())
                 .get(settings.getTimeout(), TimeUnit.MILLISECONDS)) {
             if (log.isDebugEnabled()) {
                 log.debug(
@@ -364,25 +358,4 @@ public class ClickHouseEmbeddingStore implements EmbeddingStore<TextSegment>, Au
         return new EmbeddingMatch<>(
                 RelevanceScore.fromCosineSimilarity(1 - cosineDistance), id, Embedding.from(embedding), textSegment);
     }
-
-    private Map<String, Object> toInsertData(String id, Embedding embedding, TextSegment segment) {
-        Map<String, Object> data = new HashMap<>(4);
-        Float[] insertEmbedding = embedding.vectorAsList().toArray(new Float[0]);
-        Map<String, Object> metadata =
-                segment == null ? null : segment.metadata().toMap();
-
-        data.put(settings.getColumnMapping(ID_MAPPING_KEY), id);
-        data.put(settings.getColumnMapping(EMBEDDING_MAPPING_KEY), insertEmbedding);
-        data.put(settings.getColumnMapping(TEXT_MAPPING_KEY), segment == null ? null : segment.text());
-
-        // We need to set all column, including null.
-        if (settings.containsMetadata()) {
-            Map<String, ClickHouseDataType> meatadataColumnMap = settings.getMetadataTypeMap();
-            for (String key : meatadataColumnMap.keySet()) {
-                data.put(key, Optional.ofNullable(metadata).map(m -> m.get(key)).orElse(null));
-            }
-        }
-
-        return data;
-    }
 }
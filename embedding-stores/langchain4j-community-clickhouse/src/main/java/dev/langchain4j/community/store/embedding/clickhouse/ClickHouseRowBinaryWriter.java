@@ -0,0 +1,181 @@
+package dev.langchain4j.community.store.embedding.clickhouse;
+
+import static dev.langchain4j.community.store.embedding.clickhouse.ClickHouseMappingKey.EMBEDDING_MAPPING_KEY;
+import static dev.langchain4j.community.store.embedding.clickhouse.ClickHouseMappingKey.ID_MAPPING_KEY;
+import static dev.langchain4j.community.store.embedding.clickhouse.ClickHouseMappingKey.TEXT_MAPPING_KEY;
+
+import com.clickhouse.client.api.DataStreamWriter;
+import com.clickhouse.client.api.data_formats.RowBinaryFormatSerializer;
+import com.clickhouse.client.api.data_formats.internal.SerializerUtils;
+import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseDataType;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes embeddings to the request body of an insert in the RowBinary format. Rows are serialized one at a time,
+ * straight from the <code>float[]</code> of each embedding, so a batch is never held in memory in another form.
+ * <p>
+ * The columns are the id, text and embedding columns followed by the metadata columns, in the order of
+ * {@link #columnNames()}.
+ */
+class ClickHouseRowBinaryWriter implements DataStreamWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<String> ids;
+    private final List<Embedding> embeddings;
+    private final List<TextSegment> embedded;
+    private final List<String> columnNames = new ArrayList<>();
+    private final List<ClickHouseColumn> metadataColumns = new ArrayList<>();
+
+    /**
+     * @param settings   ClickHouse settings, for the column names and metadata types
+     * @param ids        ids of the embeddings
+     * @param embeddings embeddings to insert
+     * @param embedded   text segments of the embeddings, or null
+     */
+    ClickHouseRowBinaryWriter(
+            ClickHouseSettings settings, List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+        this.ids = ids;
+        this.embeddings = embeddings;
+        this.embedded = embedded;
+
+        columnNames.add(settings.getColumnMapping(ID_MAPPING_KEY));
+        columnNames.add(settings.getColumnMapping(TEXT_MAPPING_KEY));
+        columnNames.add(settings.getColumnMapping(EMBEDDING_MAPPING_KEY));
+        if (settings.containsMetadata()) {
+            for (Map.Entry<String, ClickHouseDataType> entry :
+                    settings.getMetadataTypeMap().entrySet()) {
+                columnNames.add(entry.getKey());
+                // Same type as the column created by the store
+                metadataColumns.add(ClickHouseColumn.of(
+                        entry.getKey(), "Nullable(" + entry.getValue().name() + ")"));
+            }
+        }
+    }
+
+    /**
+     * @return the columns of the rows, in the order they are written
+     */
+    List<String> columnNames() {
+        return columnNames;
+    }
+
+    /**
+     * Writes all rows. The client calls it again when the insert is retried, which writes them again from the
+     * first row.
+     */
+    @Override
+    public void onOutput(OutputStream out) throws IOException {
+        // The serializer writes values field by field, so small writes are buffered
+        BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        RowBinaryFormatSerializer serializer = new RowBinaryFormatSerializer(buffered);
+        for (int i = 0; i < ids.size(); i++) {
+            writeRow(buffered, serializer, ids.get(i), embeddings.get(i), embedded == null ? null : embedded.get(i));
+        }
+        buffered.flush();
+    }
+
+    private void writeRow(
+            OutputStream out, RowBinaryFormatSerializer serializer, String id, Embedding embedding, TextSegment segment)
+            throws IOException {
+        serializer.writeString(id);
+
+        if (segment == null) {
+            serializer.writeNull();
+        } else {
+            serializer.writeNotNull();
+            serializer.writeString(segment.text());
+        }
+
+        // The embedding column is Array(Float64)
+        float[] vector = embedding.vector();
+        RowBinaryFormatSerializer.writeSize(out, vector.length);
+        for (float value : vector) {
+            serializer.writeFloat64(value);
+        }
+
+        // We need to write all columns, including null.
+        Map<String, Object> metadata =
+                segment == null ? Map.of() : segment.metadata().toMap();
+        for (ClickHouseColumn column : metadataColumns) {
+            Object value = toColumnValue(metadata.get(column.getColumnName()), column.getDataType());
+            if (RowBinaryFormatSerializer.writeValuePreamble(out, false, column, value)) {
+                SerializerUtils.serializeData(out, value, column);
+            }
+        }
+    }
+
+    /**
+     * The serializer expects the Java type of the column, while the JSON format also accepted any number for a
+     * floating point column, any integer that fits for an integer column, 0, 1, "true" or "false" for a
+     * <code>Bool</code> column, and a string for a UUID column.
+     */
+    private static Object toColumnValue(Object value, ClickHouseDataType type) {
+        if (value instanceof Number number) {
+            if (type == ClickHouseDataType.Float32) {
+                return number.floatValue();
+            }
+            if (type == ClickHouseDataType.Float64) {
+                return number.doubleValue();
+            }
+            if (isIntegral(number)) {
+                long longValue = number.longValue();
+                switch (type) {
+                    case Int8:
+                        return (byte) inRange(longValue, Byte.MIN_VALUE, Byte.MAX_VALUE, type);
+                    case Int16:
+                        return (short) inRange(longValue, Short.MIN_VALUE, Short.MAX_VALUE, type);
+                    case Int32:
+                        return (int) inRange(longValue, Integer.MIN_VALUE, Integer.MAX_VALUE, type);
+                    case Int64:
+                        return longValue;
+                    case UInt8:
+                        return (short) inRange(longValue, 0, 0xFF, type);
+                    case UInt16:
+                        return (int) inRange(longValue, 0, 0xFFFF, type);
+                    case UInt32:
+                        return inRange(longValue, 0, 0xFFFF_FFFFL, type);
+                    case UInt64:
+                        return BigInteger.valueOf(inRange(longValue, 0, Long.MAX_VALUE, type));
+                    case Bool:
+                        return inRange(longValue, 0, 1, type) == 1;
+                    default:
+                        break;
+                }
+            }
+        }
+        if (value instanceof String string) {
+            if (type == ClickHouseDataType.UUID) {
+                return UUID.fromString(string);
+            }
+            if (type == ClickHouseDataType.Bool) {
+                if (string.equalsIgnoreCase("true") || string.equalsIgnoreCase("false")) {
+                    return Boolean.parseBoolean(string);
+                }
+                throw new IllegalArgumentException(String.format("Value '%s' is not a %s", string, type));
+            }
+        }
+        return value;
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Byte || number instanceof Short || number instanceof Integer || number instanceof Long;
+    }
+
+    private static long inRange(long value, long min, long max, ClickHouseDataType type) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(String.format("Value %d is out of range for %s", value, type));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,249 @@
+package dev.langchain4j.community.store.embedding.clickhouse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.clickhouse.client.api.data_formats.RowBinaryFormatReader;
+import com.clickhouse.client.api.data_formats.internal.BinaryStreamReader;
+import com.clickhouse.client.api.metadata.TableSchema;
+import com.clickhouse.client.api.query.QuerySettings;
+import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseDataType;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ClickHouseRowBinaryWriterTest {
+
+    @Test
+    void should_write_rows_readable_as_table_columns() throws Exception {
+        Map<String, ClickHouseDataType> metadataTypeMap = new LinkedHashMap<>();
+        metadataTypeMap.put("name", ClickHouseDataType.String);
+        metadataTypeMap.put("age", ClickHouseDataType.Int32);
+        metadataTypeMap.put("views", ClickHouseDataType.Int64);
+        metadataTypeMap.put("uuid", ClickHouseDataType.UUID);
+        ClickHouseSettings settings = ClickHouseSettings.builder()
+                .url("http://localhost:8123")
+                .dimension(3)
+                .metadataTypeMap(metadataTypeMap)
+                .build();
+        UUID uuid = UUID.randomUUID();
+        TextSegment segment = TextSegment.from(
+                "hello",
+                new Metadata()
+                        .put("name", "klaus")
+                        .put("age", 42)
+                        .put("views", 7L)
+                        .put("uuid", uuid));
+
+        ClickHouseRowBinaryWriter writer = new ClickHouseRowBinaryWriter(
+                settings,
+                List.of("id-1", "id-2", "id-3"),
+                List.of(
+                        Embedding.from(new float[] {0.1f, 0.2f, 0.3f}),
+                        Embedding.from(new float[] {1f, 2f, 3f}),
+                        Embedding.from(new float[] {-1f, 0f, 1f})),
+                Arrays.asList(segment, TextSegment.from("no metadata"), null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.onOutput(out);
+
+        assertThat(writer.columnNames()).containsExactly("id", "text", "embedding", "name", "age", "views", "uuid");
+        RowBinaryFormatReader reader = reader(
+                out,
+                ClickHouseColumn.of("name", "Nullable(String)"),
+                ClickHouseColumn.of("age", "Nullable(Int32)"),
+                ClickHouseColumn.of("views", "Nullable(Int64)"),
+                ClickHouseColumn.of("uuid", "Nullable(UUID)"));
+
+        reader.next();
+        assertThat(reader.getString("id")).isEqualTo("id-1");
+        assertThat(reader.getString("text")).isEqualTo("hello");
+        assertThat(embedding(reader)).containsExactly((double) 0.1f, (double) 0.2f, (double) 0.3f);
+        assertThat(reader.getString("name")).isEqualTo("klaus");
+        assertThat(reader.getInteger("age")).isEqualTo(42);
+        assertThat(reader.getLong("views")).isEqualTo(7L);
+        assertThat(reader.getUUID("uuid")).isEqualTo(uuid);
+
+        reader.next();
+        assertThat(reader.getString("id")).isEqualTo("id-2");
+        assertThat(reader.getString("text")).isEqualTo("no metadata");
+        assertThat(embedding(reader)).containsExactly(1.0, 2.0, 3.0);
+        assertThat(reader.hasValue("name")).isFalse();
+        assertThat(reader.hasValue("uuid")).isFalse();
+
+        reader.next();
+        assertThat(reader.getString("id")).isEqualTo("id-3");
+        assertThat(reader.hasValue("text")).isFalse();
+        assertThat(embedding(reader)).containsExactly(-1.0, 0.0, 1.0);
+        assertThat(reader.hasValue("age")).isFalse();
+
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    void should_convert_metadata_values_to_column_types() throws Exception {
+        Map<String, ClickHouseDataType> metadataTypeMap = new LinkedHashMap<>();
+        metadataTypeMap.put("score", ClickHouseDataType.Float64);
+        metadataTypeMap.put("price", ClickHouseDataType.String);
+        metadataTypeMap.put("uuid", ClickHouseDataType.UUID);
+        metadataTypeMap.put("views", ClickHouseDataType.Int64);
+        metadataTypeMap.put("rank", ClickHouseDataType.Int16);
+        ClickHouseSettings settings = ClickHouseSettings.builder()
+                .url("http://localhost:8123")
+                .dimension(1)
+                .metadataTypeMap(metadataTypeMap)
+                .build();
+        UUID uuid = UUID.randomUUID();
+        TextSegment segment = TextSegment.from(
+                "hello",
+                new Metadata()
+                        .put("score", 1.5f)
+                        .put("price", 9.99)
+                        .put("uuid", uuid.toString())
+                        .put("views", 7)
+                        .put("rank", 3L));
+
+        ClickHouseRowBinaryWriter writer = new ClickHouseRowBinaryWriter(
+                settings, List.of("id-1"), List.of(Embedding.from(new float[] {1f})), List.of(segment));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.onOutput(out);
+
+        RowBinaryFormatReader reader = reader(
+                out,
+                ClickHouseColumn.of("score", "Nullable(Float64)"),
+                ClickHouseColumn.of("price", "Nullable(String)"),
+                ClickHouseColumn.of("uuid", "Nullable(UUID)"),
+                ClickHouseColumn.of("views", "Nullable(Int64)"),
+                ClickHouseColumn.of("rank", "Nullable(Int16)"));
+
+        reader.next();
+        assertThat(reader.getDouble("score")).isEqualTo(1.5);
+        assertThat(reader.getString("price")).isEqualTo("9.99");
+        assertThat(reader.getUUID("uuid")).isEqualTo(uuid);
+        assertThat(reader.getLong("views")).isEqualTo(7L);
+        assertThat(reader.getShort("rank")).isEqualTo((short) 3);
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    void should_reject_integers_out_of_column_range() {
+        ClickHouseSettings settings = ClickHouseSettings.builder()
+                .url("http://localhost:8123")
+                .dimension(1)
+                .metadataTypeMap(Map.of("rank", ClickHouseDataType.Int8))
+                .build();
+        TextSegment segment = TextSegment.from("hello", new Metadata().put("rank", 1000));
+
+        ClickHouseRowBinaryWriter writer = new ClickHouseRowBinaryWriter(
+                settings, List.of("id-1"), List.of(Embedding.from(new float[] {1f})), List.of(segment));
+
+        assertThatThrownBy(() -> writer.onOutput(new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Int8");
+    }
+
+    @Test
+    void should_convert_unsigned_and_bool_values() throws Exception {
+        Map<String, ClickHouseDataType> metadataTypeMap = new LinkedHashMap<>();
+        metadataTypeMap.put("level", ClickHouseDataType.UInt8);
+        metadataTypeMap.put("port", ClickHouseDataType.UInt16);
+        metadataTypeMap.put("size", ClickHouseDataType.UInt32);
+        metadataTypeMap.put("views", ClickHouseDataType.UInt64);
+        metadataTypeMap.put("active", ClickHouseDataType.Bool);
+        metadataTypeMap.put("archived", ClickHouseDataType.Bool);
+        ClickHouseSettings settings = ClickHouseSettings.builder()
+                .url("http://localhost:8123")
+                .dimension(1)
+                .metadataTypeMap(metadataTypeMap)
+                .build();
+        TextSegment segment = TextSegment.from(
+                "hello",
+                new Metadata()
+                        .put("level", 200)
+                        .put("port", 60000L)
+                        .put("size", 4_000_000_000L)
+                        .put("views", 7)
+                        .put("active", 1)
+                        .put("archived", "false"));
+
+        ClickHouseRowBinaryWriter writer = new ClickHouseRowBinaryWriter(
+                settings, List.of("id-1"), List.of(Embedding.from(new float[] {1f})), List.of(segment));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.onOutput(out);
+
+        RowBinaryFormatReader reader = reader(
+                out,
+                ClickHouseColumn.of("level", "Nullable(UInt8)"),
+                ClickHouseColumn.of("port", "Nullable(UInt16)"),
+                ClickHouseColumn.of("size", "Nullable(UInt32)"),
+                ClickHouseColumn.of("views", "Nullable(UInt64)"),
+                ClickHouseColumn.of("active", "Nullable(Bool)"),
+                ClickHouseColumn.of("archived", "Nullable(Bool)"));
+
+        reader.next();
+        assertThat(reader.getShort("level")).isEqualTo((short) 200);
+        assertThat(reader.getInteger("port")).isEqualTo(60000);
+        assertThat(reader.getLong("size")).isEqualTo(4_000_000_000L);
+        assertThat(reader.getBigInteger("views")).isEqualTo(BigInteger.valueOf(7));
+        assertThat(reader.getBoolean("active")).isTrue();
+        assertThat(reader.getBoolean("archived")).isFalse();
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    void should_reject_unsigned_and_bool_values_out_of_column_range() {
+        assertThatThrownBy(() -> write(ClickHouseDataType.UInt8, 256))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("UInt8");
+        assertThatThrownBy(() -> write(ClickHouseDataType.UInt32, -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("UInt32");
+        assertThatThrownBy(() -> write(ClickHouseDataType.UInt64, -1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("UInt64");
+        assertThatThrownBy(() -> write(ClickHouseDataType.Bool, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Bool");
+        assertThatThrownBy(() -> write(ClickHouseDataType.Bool, "yes"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Bool");
+    }
+
+    private static void write(ClickHouseDataType type, Object value) throws Exception {
+        ClickHouseSettings settings = ClickHouseSettings.builder()
+                .url("http://localhost:8123")
+                .dimension(1)
+                .metadataTypeMap(Map.of("value", type))
+                .build();
+        TextSegment segment = TextSegment.from("hello", Metadata.from(Map.of("value", value)));
+        new ClickHouseRowBinaryWriter(
+                        settings, List.of("id-1"), List.of(Embedding.from(new float[] {1f})), List.of(segment))
+                .onOutput(new ByteArrayOutputStream());
+    }
+
+    private static RowBinaryFormatReader reader(ByteArrayOutputStream out, ClickHouseColumn... metadataColumns) {
+        List<ClickHouseColumn> columns = new ArrayList<>(List.of(
+                ClickHouseColumn.of("id", "String"),
+                ClickHouseColumn.of("text", "Nullable(String)"),
+                ClickHouseColumn.of("embedding", "Array(Float64)")));
+        columns.addAll(Arrays.asList(metadataColumns));
+        // The reader needs a time zone, although no column has date or time values
+        QuerySettings settings = new QuerySettings().setUseTimeZone("UTC");
+        return new RowBinaryFormatReader(
+                new ByteArrayInputStream(out.toByteArray()), settings, new TableSchema(columns), null);
+    }
+
+    private static List<Double> embedding(RowBinaryFormatReader reader) {
+        return ((BinaryStreamReader.ArrayValue) reader.readValue("embedding")).asList();
+    }
+}
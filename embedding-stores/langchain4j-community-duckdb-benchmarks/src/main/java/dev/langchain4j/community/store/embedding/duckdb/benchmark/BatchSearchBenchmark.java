@@ -0,0 +1,85 @@
+package dev.langchain4j.community.store.embedding.duckdb.benchmark;
+
+import dev.langchain4j.community.store.embedding.duckdb.DuckDBEmbeddingStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of answering several query embeddings, such as the expansions of one user query: one
+ * {@code searchAll} statement that scans the table once, or one {@code search} per query embedding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class BatchSearchBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"384"})
+    public int dimension;
+
+    @Param({"1", "8", "32"})
+    public int queries;
+
+    @Param({"10"})
+    public int maxResults;
+
+    private List<EmbeddingSearchRequest> requests;
+    private DuckDBEmbeddingStore store;
+
+    @Setup(Level.Trial)
+    public void createStore() {
+        RandomVectors vectors = new RandomVectors(42, dimension);
+        requests = new ArrayList<>();
+        for (Embedding queryEmbedding : vectors.queries(queries)) {
+            requests.add(EmbeddingSearchRequest.builder()
+                    .queryEmbedding(queryEmbedding)
+                    .maxResults(maxResults)
+                    .build());
+        }
+        store = DuckDBEmbeddingStore.builder().dimension(dimension).build();
+        for (int from = 0; from < size; from = from + BATCH_SIZE) {
+            int count = Math.min(BATCH_SIZE, size - from);
+            store.bulkAddAll(vectors.embeddings(from, count), vectors.textSegments(from, count));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void clearStore() {
+        store.removeAll();
+    }
+
+    @Benchmark
+    public List<EmbeddingSearchResult<TextSegment>> searchAll() {
+        return store.searchAll(requests);
+    }
+
+    @Benchmark
+    public List<EmbeddingSearchResult<TextSegment>> searchEach() {
+        return requests.stream().map(store::search).toList();
+    }
+}
@@ -0,0 +1,99 @@
+package dev.langchain4j.community.store.embedding.duckdb.benchmark;
+
+import dev.langchain4j.community.store.embedding.duckdb.DuckDBEmbeddingStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of small searches from concurrent callers, where per-call overhead matters more than the scan:
+ * with and without cached prepared statements, and with DuckDB threads per query bounded or not.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Threads(8)
+@State(Scope.Benchmark)
+public class ConcurrentSearchBenchmark {
+
+    private static final int QUERY_COUNT = 100;
+
+    /**
+     * Position in the query list, per benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class QueryCursor {
+
+        private int next;
+
+        int next() {
+            next = (next + 1) % QUERY_COUNT;
+            return next;
+        }
+    }
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"384"})
+    public int dimension;
+
+    @Param({"0", "32"})
+    public int statementCacheSize;
+
+    @Param({"0", "1"})
+    public int threads;
+
+    @Param({"10"})
+    public int maxResults;
+
+    private List<Embedding> queryEmbeddings;
+    private DuckDBEmbeddingStore store;
+
+    @Setup(Level.Trial)
+    public void createStore() {
+        RandomVectors vectors = new RandomVectors(42, dimension);
+        queryEmbeddings = vectors.queries(QUERY_COUNT);
+        store = DuckDBEmbeddingStore.builder()
+                .dimension(dimension)
+                .maxConnections(8)
+                .statementCacheSize(statementCacheSize)
+                .threads(threads > 0 ? threads : null)
+                .build();
+        store.bulkAddAll(vectors.embeddings(0, size), vectors.textSegments(0, size));
+    }
+
+    @TearDown(Level.Trial)
+    public void closeStore() throws SQLException {
+        store.close();
+    }
+
+    @Benchmark
+    public List<EmbeddingMatch<TextSegment>> search(QueryCursor cursor) {
+        return store.search(EmbeddingSearchRequest.builder()
+                        .queryEmbedding(queryEmbeddings.get(cursor.next()))
+                        .maxResults(maxResults)
+                        .build())
+                .matches();
+    }
+}
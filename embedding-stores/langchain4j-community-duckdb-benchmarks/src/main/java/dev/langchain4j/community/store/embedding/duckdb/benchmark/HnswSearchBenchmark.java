@@ -0,0 +1,85 @@
+package dev.langchain4j.community.store.embedding.duckdb.benchmark;
+
+import dev.langchain4j.community.store.embedding.duckdb.DuckDBEmbeddingStore;
+import dev.langchain4j.community.store.embedding.duckdb.DuckDBHnswIndex;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Unfiltered top-k search latency with a full scan of a fixed-size FLOAT[N] column, and with an HNSW index,
+ * over increasing table sizes. The scan grows linearly with the table and the index does not, so comparing
+ * both for each size shows where the index starts paying off. Needs the vss extension.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class HnswSearchBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int QUERY_COUNT = 100;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"384"})
+    public int dimension;
+
+    @Param({"false", "true"})
+    public boolean hnswIndex;
+
+    @Param({"10"})
+    public int maxResults;
+
+    private List<Embedding> queryEmbeddings;
+    private DuckDBEmbeddingStore store;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createStore() {
+        RandomVectors vectors = new RandomVectors(42, dimension);
+        queryEmbeddings = vectors.queries(QUERY_COUNT);
+        store = DuckDBEmbeddingStore.builder()
+                .dimension(dimension)
+                .hnswIndex(hnswIndex ? DuckDBHnswIndex.builder().build() : null)
+                .build();
+        for (int from = 0; from < size; from = from + BATCH_SIZE) {
+            int count = Math.min(BATCH_SIZE, size - from);
+            store.bulkAddAll(vectors.embeddings(from, count), vectors.textSegments(from, count));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void clearStore() {
+        store.removeAll();
+    }
+
+    @Benchmark
+    public List<EmbeddingMatch<TextSegment>> search() {
+        next = (next + 1) % QUERY_COUNT;
+        return store.search(EmbeddingSearchRequest.builder()
+                        .queryEmbedding(queryEmbeddings.get(next))
+                        .maxResults(maxResults)
+                        .build())
+                .matches();
+    }
+}
@@ -0,0 +1,98 @@
+package dev.langchain4j.community.store.embedding.duckdb.benchmark;
+
+import dev.langchain4j.community.store.embedding.duckdb.DuckDBEmbeddingStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to load embeddings into an empty table, with JDBC batched `addAll`, with the appender in `bulkAddAll`,
+ * and from a Parquet snapshot with `importFrom`. The vectors and the snapshot are created before measuring.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class IngestionBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"384"})
+    public int dimension;
+
+    private List<Embedding> embeddings;
+    private List<TextSegment> textSegments;
+    private Path snapshot;
+    private DuckDBEmbeddingStore store;
+
+    @Setup(Level.Trial)
+    public void createVectors() throws IOException, SQLException {
+        RandomVectors vectors = new RandomVectors(42, dimension);
+        embeddings = vectors.embeddings(0, size);
+        textSegments = vectors.textSegments(0, size);
+        snapshot = Files.createTempFile("embeddings", ".parquet");
+        try (DuckDBEmbeddingStore source =
+                DuckDBEmbeddingStore.builder().dimension(dimension).build()) {
+            source.bulkAddAll(embeddings, textSegments);
+            source.exportTo(snapshot);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Setup(Level.Iteration)
+    public void createStore() {
+        store = DuckDBEmbeddingStore.builder().dimension(dimension).build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearStore() {
+        store.removeAll();
+    }
+
+    @Benchmark
+    public int addAll() {
+        for (int from = 0; from < size; from = from + BATCH_SIZE) {
+            int to = Math.min(size, from + BATCH_SIZE);
+            store.addAll(embeddings.subList(from, to), textSegments.subList(from, to));
+        }
+        return size;
+    }
+
+    @Benchmark
+    public int bulkAddAll() {
+        store.bulkAddAll(embeddings, textSegments);
+        return size;
+    }
+
+    @Benchmark
+    public long importFrom() {
+        return store.importFrom(snapshot);
+    }
+}
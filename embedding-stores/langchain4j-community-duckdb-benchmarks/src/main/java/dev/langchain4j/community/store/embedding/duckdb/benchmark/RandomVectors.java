@@ -0,0 +1,89 @@
+package dev.langchain4j.community.store.embedding.duckdb.benchmark;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic random unit vectors and short text segments, so that benchmarks run offline and results can
+ * be compared over time. Every vector and segment only depends on the seed and its position.
+ */
+final class RandomVectors {
+
+    private final long seed;
+    private final int dimension;
+
+    /**
+     * @param seed      Seed for all generated vectors
+     * @param dimension Dimension of embedding vectors
+     */
+    RandomVectors(long seed, int dimension) {
+        this.seed = seed;
+        this.dimension = dimension;
+    }
+
+    /**
+     * Generate document embeddings.
+     *
+     * @param from  Position of the first embedding
+     * @param count Number of embeddings
+     * @return Unit vectors
+     */
+    List<Embedding> embeddings(int from, int count) {
+        List<Embedding> embeddings = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            embeddings.add(embedding(seed * 31 + i));
+        }
+        return embeddings;
+    }
+
+    /**
+     * Generate query embeddings, which are different from all document embeddings.
+     *
+     * @param count Number of embeddings
+     * @return Unit vectors
+     */
+    List<Embedding> queries(int count) {
+        List<Embedding> embeddings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            embeddings.add(embedding(-(seed * 31 + i + 1)));
+        }
+        return embeddings;
+    }
+
+    /**
+     * Generate text segments, with a name and a category in the metadata.
+     *
+     * @param from  Position of the first segment
+     * @param count Number of segments
+     * @return Text segments
+     */
+    List<TextSegment> textSegments(int from, int count) {
+        List<TextSegment> textSegments = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            Metadata metadata = new Metadata();
+            metadata.put("name", "doc" + i);
+            metadata.put("category", i % 10);
+            textSegments.add(TextSegment.from("Document number " + i, metadata));
+        }
+        return textSegments;
+    }
+
+    private Embedding embedding(long vectorSeed) {
+        Random random = new Random(vectorSeed);
+        float[] vector = new float[dimension];
+        double norm = 0;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm = norm + vector[i] * vector[i];
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = vector[i] * scale;
+        }
+        return Embedding.from(vector);
+    }
+}
@@ -0,0 +1,102 @@
+package dev.langchain4j.community.store.embedding.duckdb.benchmark;
+
+import dev.langchain4j.community.store.embedding.duckdb.DuckDBEmbeddingStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Search latency and allocation for large top-k results, reading embeddings through JDBC arrays, through the
+ * Arrow export, or not at all. Run with `-prof gc` to compare allocation per search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"-Xmx8g", "--add-opens=java.base/java.nio=ALL-UNNAMED"})
+@State(Scope.Benchmark)
+public class ResultReadingBenchmark {
+
+    private static final int QUERY_COUNT = 100;
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"1536"})
+    public int dimension;
+
+    @Param({"100"})
+    public int maxResults;
+
+    private List<Embedding> queryEmbeddings;
+    private DuckDBEmbeddingStore jdbcStore;
+    private DuckDBEmbeddingStore arrowStore;
+    private DuckDBEmbeddingStore noEmbeddingsStore;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createStore() {
+        RandomVectors vectors = new RandomVectors(42, dimension);
+        queryEmbeddings = vectors.queries(QUERY_COUNT);
+        jdbcStore = DuckDBEmbeddingStore.builder().dimension(dimension).build();
+        jdbcStore.bulkAddAll(vectors.embeddings(0, size), vectors.textSegments(0, size));
+        arrowStore = DuckDBEmbeddingStore.builder()
+                .dimension(dimension)
+                .arrowResults(true)
+                .build();
+        arrowStore.bulkAddAll(vectors.embeddings(0, size), vectors.textSegments(0, size));
+        noEmbeddingsStore = DuckDBEmbeddingStore.builder()
+                .dimension(dimension)
+                .returnEmbeddings(false)
+                .build();
+        noEmbeddingsStore.bulkAddAll(vectors.embeddings(0, size), vectors.textSegments(0, size));
+    }
+
+    @TearDown(Level.Trial)
+    public void clearStore() {
+        jdbcStore.removeAll();
+        arrowStore.removeAll();
+        noEmbeddingsStore.removeAll();
+    }
+
+    @Benchmark
+    public List<EmbeddingMatch<TextSegment>> jdbc() {
+        return jdbcStore.search(nextRequest()).matches();
+    }
+
+    @Benchmark
+    public List<EmbeddingMatch<TextSegment>> arrow() {
+        return arrowStore.search(nextRequest()).matches();
+    }
+
+    @Benchmark
+    public List<EmbeddingMatch<TextSegment>> noEmbeddings() {
+        return noEmbeddingsStore.search(nextRequest()).matches();
+    }
+
+    private EmbeddingSearchRequest nextRequest() {
+        next = (next + 1) % QUERY_COUNT;
+        return EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbeddings.get(next))
+                .maxResults(maxResults)
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.FloatingPointVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.FixedSizeListVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.duckdb.DuckDBResultSet;
+
+/**
+ * Reads search results through the DuckDB Arrow export, so that embeddings are copied from the Arrow buffers
+ * into float arrays without boxing every value. Only loaded when Arrow results are enabled, so that Arrow is
+ * an optional dependency.
+ */
+class DuckDBArrowResultReader implements AutoCloseable {
+
+    private static final long BATCH_SIZE = 1024;
+
+    /**
+     * Maps a result row. Rows of a batch search have the index of their query, other rows have 0.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+
+        T map(
+                int queryIndex,
+                String id,
+                double score,
+                float[] vector,
+                String text,
+                String metadataJson,
+                Map<String, Object> metadataColumnValues)
+                throws JsonProcessingException;
+    }
+
+    private final BufferAllocator rootAllocator = new RootAllocator();
+    private final Map<String, Class<?>> metadataColumns;
+    private final boolean readEmbeddings;
+
+    /**
+     * @param metadataColumns Typed metadata columns, with the Java type of their values
+     * @param readEmbeddings  Whether the results have an embedding column
+     */
+    DuckDBArrowResultReader(Map<String, Class<?>> metadataColumns, boolean readEmbeddings) {
+        this.metadataColumns = metadataColumns;
+        this.readEmbeddings = readEmbeddings;
+    }
+
+    /**
+     * Closes the root allocator, once all reads are done.
+     */
+    @Override
+    public void close() {
+        rootAllocator.close();
+    }
+
+    <T> List<T> read(DuckDBResultSet resultSet, RowMapper<T> mapper) throws SQLException, IOException {
+        var rows = new ArrayList<T>();
+        try (var allocator = rootAllocator.newChildAllocator("duckdb-search", 0, Long.MAX_VALUE);
+                var reader = (ArrowReader) resultSet.arrowExportStream(allocator, BATCH_SIZE)) {
+            while (reader.loadNextBatch()) {
+                var root = reader.getVectorSchemaRoot();
+                var ids = root.getVector("id");
+                var scores = (FloatingPointVector) root.getVector("score");
+                var texts = root.getVector("text");
+                var metadata = root.getVector("metadata");
+                var embeddings = readEmbeddings ? root.getVector("embedding") : null;
+                var queryIndexes = (BaseIntVector) root.getVector("query_index");
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    rows.add(mapper.map(
+                            queryIndexes != null ? (int) queryIndexes.getValueAsLong(i) : 0,
+                            string(ids, i),
+                            scores.getValueAsDouble(i),
+                            embeddings != null ? vector(embeddings, i) : null,
+                            string(texts, i),
+                            string(metadata, i),
+                            metadataColumnValues(root, i)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private Map<String, Object> metadataColumnValues(VectorSchemaRoot root, int index) {
+        if (metadataColumns.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        var values = new HashMap<String, Object>();
+        for (var column : metadataColumns.entrySet()) {
+            var vector = root.getVector(column.getKey());
+            if (vector.isNull(index)) {
+                continue;
+            }
+            // Strings and UUIDs are exported as Arrow UTF-8, and numbers as their Java type
+            Object value = vector.getObject(index);
+            if (column.getValue() == UUID.class) {
+                value = UUID.fromString(value.toString());
+            } else if (column.getValue() == String.class) {
+                value = value.toString();
+            }
+            values.put(column.getKey(), value);
+        }
+        return values;
+    }
+
+    private static String string(FieldVector vector, int index) {
+        return vector.isNull(index) ? null : vector.getObject(index).toString();
+    }
+
+    /**
+     * Copy a FLOAT[N] or FLOAT[] value straight from the float buffer of the list elements.
+     */
+    private static float[] vector(FieldVector vector, int index) {
+        if (vector.isNull(index)) {
+            return null;
+        }
+        int start;
+        int end;
+        FieldVector elements;
+        if (vector instanceof FixedSizeListVector fixedSizeList) {
+            start = index * fixedSizeList.getListSize();
+            end = start + fixedSizeList.getListSize();
+            elements = fixedSizeList.getDataVector();
+        } else {
+            var list = (ListVector) vector;
+            start = list.getElementStartIndex(index);
+            end = list.getElementEndIndex(index);
+            elements = list.getDataVector();
+        }
+        var result = new float[end - start];
+        elements.getDataBuffer()
+                .nioBuffer((long) start * Float.BYTES, result.length * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer()
+                .get(result);
+        return result;
+    }
+}
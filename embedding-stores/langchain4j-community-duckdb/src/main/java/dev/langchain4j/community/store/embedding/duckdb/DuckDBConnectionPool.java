@@ -0,0 +1,160 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import org.duckdb.DuckDBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of connections duplicated from one database connection. Each pooled connection keeps its most
+ * recently used prepared statements, so that a statement is prepared once per connection instead of on every
+ * call. Callers block while all connections are in use, which bounds the number of concurrent queries.
+ */
+class DuckDBConnectionPool implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DuckDBConnectionPool.class);
+
+    private final DuckDBConnection databaseConnection;
+    private final int statementCacheSize;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<PooledConnection> idleConnections = new ConcurrentLinkedQueue<>();
+    private boolean closed;
+
+    DuckDBConnectionPool(DuckDBConnection databaseConnection, int maxConnections, int statementCacheSize) {
+        this.databaseConnection = databaseConnection;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Takes an idle connection, or duplicates a new one, waiting while all connections are in use.
+     *
+     * @return a connection, which is given back to the pool when it is closed
+     */
+    PooledConnection acquire() throws SQLException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a DuckDB connection", e);
+        }
+        var connection = idleConnections.poll();
+        if (connection != null) {
+            return connection;
+        }
+        try {
+            return new PooledConnection((DuckDBConnection) databaseConnection.duplicate());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws SQLException {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idleConnections.poll()) != null) {
+            connection.closeConnection();
+        }
+        databaseConnection.close();
+    }
+
+    /**
+     * A connection of the pool. Closing it gives it back to the pool, and closes the statements that were
+     * prepared with {@link #prepareUncached(String)}.
+     */
+    class PooledConnection implements AutoCloseable {
+
+        private final DuckDBConnection connection;
+        private final Map<String, PreparedStatement> statements;
+        private final List<PreparedStatement> uncachedStatements = new ArrayList<>();
+
+        private PooledConnection(DuckDBConnection connection) {
+            this.connection = connection;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= statementCacheSize) {
+                        return false;
+                    }
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+            };
+        }
+
+        DuckDBConnection connection() {
+            return connection;
+        }
+
+        /**
+         * @param sql a statement that is run again, with different parameters
+         * @return the cached statement for the SQL, or a new one that is added to the cache
+         */
+        PreparedStatement prepareStatement(String sql) throws SQLException {
+            if (statementCacheSize == 0) {
+                return prepareUncached(sql);
+            }
+            var statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            } else {
+                // A failed call can leave parameters or a batch behind
+                statement.clearParameters();
+                statement.clearBatch();
+            }
+            return statement;
+        }
+
+        /**
+         * @param sql a statement that is unlikely to run again, such as one with literal values
+         * @return a new statement, which is closed with this connection
+         */
+        PreparedStatement prepareUncached(String sql) throws SQLException {
+            var statement = connection.prepareStatement(sql);
+            uncachedStatements.add(statement);
+            return statement;
+        }
+
+        @Override
+        public void close() {
+            uncachedStatements.forEach(DuckDBConnectionPool::closeQuietly);
+            uncachedStatements.clear();
+            if (!giveBack(this)) {
+                try {
+                    closeConnection();
+                } catch (SQLException e) {
+                    log.warn("Unable to close DuckDB connection", e);
+                }
+            }
+            permits.release();
+        }
+
+        private void closeConnection() throws SQLException {
+            statements.values().forEach(DuckDBConnectionPool::closeQuietly);
+            statements.clear();
+            connection.close();
+        }
+    }
+
+    private synchronized boolean giveBack(PooledConnection connection) {
+        return !closed && idleConnections.add(connection);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.warn("Unable to close DuckDB statement", e);
+        }
+    }
+}
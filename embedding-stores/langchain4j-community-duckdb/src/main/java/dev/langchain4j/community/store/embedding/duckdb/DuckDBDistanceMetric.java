@@ -0,0 +1,32 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+/**
+ * Distance metric of a {@link DuckDBHnswIndex}, with the DuckDB function the index accelerates.
+ */
+public enum DuckDBDistanceMetric {
+    COSINE("cosine", "array_cosine_distance"),
+    L2SQ("l2sq", "array_distance"),
+    IP("ip", "array_negative_inner_product");
+
+    private final String metric;
+    private final String distanceFunction;
+
+    DuckDBDistanceMetric(String metric, String distanceFunction) {
+        this.metric = metric;
+        this.distanceFunction = distanceFunction;
+    }
+
+    /**
+     * @return the metric name in the index options
+     */
+    public String getMetric() {
+        return metric;
+    }
+
+    /**
+     * @return the distance function that top-k queries must order by for the index to be used
+     */
+    public String getDistanceFunction() {
+        return distanceFunction;
+    }
+}
@@ -3,6 +3,8 @@ package dev.langchain4j.community.store.embedding.duckdb;
 import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.Utils.isNullOrEmpty;
 import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 import static dev.langchain4j.internal.ValidationUtils.ensureTrue;
@@ -20,16 +22,34 @@ import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.filter.Filter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import org.duckdb.DuckDBAppender;
 import org.duckdb.DuckDBConnection;
+import org.duckdb.DuckDBResultSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,27 +57,119 @@ import org.slf4j.LoggerFactory;
  * Implementation of  {@link EmbeddingStore} using <a href="https://duckdb.org/">DuckDB</a>
  * This implementation uses cosine distance and supports storing {@link Metadata}
  */
-public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
+public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment>, AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(DuckDBEmbeddingStore.class);
 
     private static final String CREATE_TABLE_TEMPLATE =
             """
-            create table if not exists %s (id UUID, embedding FLOAT[], text TEXT NULL, metadata JSON NULL);
+            create table if not exists %s (id UUID, embedding %s, text TEXT NULL, metadata JSON NULL%s);
             """;
 
     private static final String SEARCH_QUERY_TEMPLATE =
             """
-            select id, embedding, text, metadata, (list_cosine_similarity(embedding,%s)+1.0)/2.0 as score
+            select %s, (%s(embedding,?::%s)+1.0)/2.0 as score
             from %s
-            where score >= %s %s
+            where score >= ? %s
             order by score DESC
-            limit %d
+            limit ?
+            """;
+
+    /**
+     * Top-k by the distance function of the HNSW index, so that the planner replaces the scan and sort with an
+     * index scan. The minimum score is applied to the top-k, since a filter below the limit disables the index.
+     * The limit must be a literal, since only a constant limit makes a top-n that the index scan replaces, and
+     * the statement is not cached, so the minimum score is a literal too.
+     */
+    private static final String HNSW_SEARCH_QUERY_TEMPLATE =
+            """
+            select %4$s, score from (
+                select %4$s, (array_cosine_similarity(embedding,%1$s)+1.0)/2.0 as score,
+                    %2$s(embedding,%1$s) as distance
+                from %3$s
+                order by distance
+                limit %5$d
+            )
+            where score >= %6$s
+            order by distance
+            """;
+
+    /**
+     * Top-k of several query vectors with one scan of the table. The scan computes a score column per query
+     * vector into a materialized CTE, and each query takes its own top-k from it. Joining on the cross product
+     * of queries and rows instead is much slower, since the query vectors are then no longer constants.
+     */
+    private static final String BATCH_SEARCH_QUERY_TEMPLATE =
+            """
+            with scored as materialized (
+                select rowid as row_id%s from %s %s
+            ), top as (
+                %s
+            )
+            select query_index, %s, score from top join %s as t on t.rowid = top.row_id
+            order by query_index, score DESC
+            """;
+
+    private static final String BATCH_SCORE_COLUMN_TEMPLATE = ", (%s(embedding,?::%s)+1.0)/2.0 as score_%d";
+
+    private static final String BATCH_TOP_K_TEMPLATE =
+            "(select %1$d as query_index, row_id, score_%1$d as score from scored where score >= ? order by score DESC"
+                    + " limit ?)";
+
+    /**
+     * BM25 top-k, where rows without any query term have no score.
+     */
+    private static final String FULL_TEXT_SEARCH_QUERY_TEMPLATE =
+            """
+            select %1$s, score from (
+                select *, %2$s.match_bm25(id, %3$s, %4$s) as score from %5$s
+            ) where score is not null %6$s order by score DESC limit ?
+            """;
+
+    /**
+     * Reciprocal Rank Fusion of the cosine and the BM25 top-k: a row scores 1 / (rankConstant + rank) for every
+     * ranking it appears in.
+     */
+    private static final String HYBRID_SEARCH_QUERY_TEMPLATE =
+            """
+            with vector_hits as (
+                select id, row_number() over (order by score DESC) as rank from (
+                    select id, (%1$s(embedding,?::%2$s)+1.0)/2.0 as score from %3$s
+                    where score >= ? %4$s order by score DESC limit ?
+                )
+            ), text_hits as (
+                select id, row_number() over (order by score DESC) as rank from (
+                    select id, %5$s.match_bm25(id, %6$s, %7$s) as score from %3$s
+                    where score is not null %4$s order by score DESC limit ?
+                )
+            ), fused as (
+                select id, sum(1.0 / (%8$d + rank)) as score
+                from (select id, rank from vector_hits union all select id, rank from text_hits)
+                group by id
+            )
+            select %9$s, fused.score as score from fused join %3$s using (id) order by score DESC limit ?
+            """;
+
+    private static final String CREATE_FTS_INDEX_TEMPLATE =
+            """
+            pragma create_fts_index('%s', 'id', 'text', %s)
+            """;
+
+    private static final String CREATE_HNSW_INDEX_TEMPLATE =
+            """
+            create index if not exists %s on %s using hnsw (embedding) with %s
+            """;
+
+    private static final String TABLE_COLUMNS_QUERY =
+            """
+            select column_name from information_schema.columns
+            where table_schema = ? and table_name = ?
+            order by ordinal_position
             """;
 
     private static final String INSERT_QUERY_TEMPLATE =
             """
-            insert into %s (id, embedding, text, metadata) values (?,?,?,?)
+            insert into %s (id, embedding, text, metadata%s) values (?,?,?,?%s)
             """;
 
     private static final String DELETE_BY_IDS_QUERY_TEMPLATE = """
@@ -72,10 +184,52 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
             truncate table %s
             """;
 
+    private static final String EXPORT_PARQUET_TEMPLATE =
+            """
+            copy %s to %s (format parquet, compression zstd)
+            """;
+
+    private static final String PARQUET_COLUMNS_TEMPLATE =
+            """
+            describe select * from read_parquet(%s)
+            """;
+
+    private static final String IMPORT_PARQUET_TEMPLATE =
+            """
+            insert into %s by name select %s from read_parquet(%s)
+            """;
+
+    private static final String DROP_INDEX_TEMPLATE = """
+            drop index if exists %s
+            """;
+
+    private static final int DEFAULT_MAX_CONNECTIONS = 8;
+
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+
+    private static final Set<String> RESERVED_COLUMNS =
+            Set.of("id", "embedding", "text", "metadata", "score", "distance", "query_index", "row_id", "rowid");
+
+    private static final Set<Class<?>> METADATA_COLUMN_TYPES =
+            Set.of(String.class, UUID.class, Integer.class, Long.class, Float.class, Double.class);
+
     private final String tableName;
-    private final DuckDBConnection duckDBConnection;
-    private final DuckDBMetadataFilterMapper jsonFilterMapper = new DuckDBMetadataFilterMapper();
+    private final Integer dimension;
+    private final String embeddingType;
+    private final String similarityFunction;
+    private final DuckDBHnswIndex hnswIndex;
+    private final DuckDBFullTextIndex fullTextIndex;
+    private final String fullTextSchema;
+    private final AtomicBoolean fullTextIndexStale = new AtomicBoolean();
+    private final Map<String, Class<?>> metadataColumns;
+    private final String metadataColumnList;
+    private final boolean returnEmbeddings;
+    private final String selectColumns;
+    private final DuckDBArrowResultReader arrowResultReader;
+    private final DuckDBConnectionPool connectionPool;
+    private final DuckDBMetadataFilterMapper jsonFilterMapper;
     private final ObjectMapper jsonMetadataSerializer = new ObjectMapper();
+    private volatile boolean appenderColumnsChecked;
 
     /**
      * Initializes a new instance of DuckDBEmbeddingStore with the specified parameters.
@@ -84,16 +238,102 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
      * @param tableName The database table name to use. If not specified, "embeddings" will be used
      */
     public DuckDBEmbeddingStore(String filePath, String tableName) {
+        this(filePath, tableName, null);
+    }
+
+    /**
+     * Initializes a new instance of DuckDBEmbeddingStore with the specified parameters.
+     *
+     * @param filePath  File used to persist DuckDB database. If not specified, the database will be stored in-memory.
+     * @param tableName The database table name to use. If not specified, "embeddings" will be used
+     * @param dimension The dimension of the embeddings. If specified, embeddings are stored in a fixed-size
+     *                  FLOAT[dimension] array and compared with array_cosine_similarity, otherwise in a
+     *                  variable-length FLOAT[] list. Only applies when the table is created.
+     */
+    public DuckDBEmbeddingStore(String filePath, String tableName, Integer dimension) {
+        this(builder().filePath(filePath).tableName(tableName).dimension(dimension));
+    }
+
+    private DuckDBEmbeddingStore(Builder builder) {
         try {
-            var dbUrl = filePath != null ? "jdbc:duckdb:" + filePath : "jdbc:duckdb:";
-            this.tableName = getOrDefault(tableName, "embeddings");
-            this.duckDBConnection = (DuckDBConnection) DriverManager.getConnection(dbUrl);
+            var dbUrl = builder.filePath != null ? "jdbc:duckdb:" + builder.filePath : "jdbc:duckdb:";
+            this.tableName = getOrDefault(builder.tableName, "embeddings");
+            if (builder.dimension != null) {
+                ensureTrue(builder.dimension > 0, "dimension must be positive");
+            }
+            this.dimension = builder.dimension;
+            this.embeddingType = dimension != null ? format("FLOAT[%d]", dimension) : "FLOAT[]";
+            this.similarityFunction = dimension != null ? "array_cosine_similarity" : "list_cosine_similarity";
+            this.hnswIndex = builder.hnswIndex;
+            this.fullTextIndex = builder.fullTextIndex;
+            var schemaAndTable = tableName.split("\\.", 2);
+            this.fullTextSchema = schemaAndTable.length == 2
+                    ? "fts_" + schemaAndTable[0] + "_" + schemaAndTable[1]
+                    : "fts_" + DuckDBConnection.DEFAULT_SCHEMA + "_" + tableName;
+            // Sorted, so that the column order does not depend on the map passed to the builder
+            this.metadataColumns = builder.metadataColumns != null
+                    ? Collections.unmodifiableMap(new TreeMap<>(builder.metadataColumns))
+                    : Collections.emptyMap();
+            metadataColumns.forEach(DuckDBEmbeddingStore::validateMetadataColumn);
+            this.metadataColumnList = metadataColumns.keySet().stream()
+                    .map(DuckDBMetadataFilterMapper::quoteIdentifier)
+                    .map(column -> ", " + column)
+                    .collect(Collectors.joining());
+            this.jsonFilterMapper = new DuckDBMetadataFilterMapper(metadataColumns.keySet());
+            this.returnEmbeddings = builder.returnEmbeddings;
+            this.selectColumns =
+                    (returnEmbeddings ? "id, embedding, text, metadata" : "id, text, metadata") + metadataColumnList;
+            this.arrowResultReader =
+                    builder.arrowResults ? new DuckDBArrowResultReader(metadataColumns, returnEmbeddings) : null;
+            if (hnswIndex != null) {
+                ensureTrue(dimension != null, "HNSW index requires a dimension");
+                ensureTrue(
+                        builder.filePath == null || hnswIndex.isExperimentalPersistence(),
+                        "HNSW index in a file-backed database requires experimental persistence");
+            }
+            var properties = new Properties();
+            if (builder.threads != null) {
+                ensureGreaterThanZero(builder.threads, "threads");
+                properties.setProperty("threads", builder.threads.toString());
+            }
+            if (builder.memoryLimit != null) {
+                properties.setProperty("memory_limit", ensureNotBlank(builder.memoryLimit, "memoryLimit"));
+            }
+            var maxConnections = getOrDefault(builder.maxConnections, DEFAULT_MAX_CONNECTIONS);
+            ensureGreaterThanZero(maxConnections, "maxConnections");
+            var statementCacheSize = getOrDefault(builder.statementCacheSize, DEFAULT_STATEMENT_CACHE_SIZE);
+            ensureTrue(statementCacheSize >= 0, "statementCacheSize must not be negative");
+            this.connectionPool = new DuckDBConnectionPool(
+                    (DuckDBConnection) DriverManager.getConnection(dbUrl, properties),
+                    maxConnections,
+                    statementCacheSize);
             initTable();
+            if (hnswIndex != null) {
+                initHnswIndex(builder.filePath != null);
+            }
+            if (fullTextIndex != null) {
+                initFullTextIndex();
+            }
         } catch (SQLException e) {
             throw new DuckDBSQLException("Unable to load duckdb connection", e);
         }
     }
 
+    /**
+     * Closes the pooled connections and the database connection, once no other call to the store is running,
+     * and the Arrow allocator of search results.
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            connectionPool.close();
+        } finally {
+            if (arrowResultReader != null) {
+                arrowResultReader.close();
+            }
+        }
+    }
+
     /**
      * @return a new instance of DuckDBEmbeddingStore with the default configuration and database stored in-memory
      */
@@ -108,6 +348,16 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
     public static class Builder {
         private String filePath;
         private String tableName;
+        private Integer dimension;
+        private DuckDBHnswIndex hnswIndex;
+        private DuckDBFullTextIndex fullTextIndex;
+        private Map<String, Class<?>> metadataColumns;
+        private boolean returnEmbeddings = true;
+        private boolean arrowResults;
+        private Integer maxConnections;
+        private Integer statementCacheSize;
+        private Integer threads;
+        private String memoryLimit;
 
         /**
          * @param filePath File used to persist DuckDB database. If not specified, the database will be stored in-memory.
@@ -127,6 +377,116 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
             return this;
         }
 
+        /**
+         * @param dimension The dimension of the embeddings. If specified, embeddings are stored in a fixed-size
+         *                  FLOAT[dimension] array, which is faster to search. If not specified, FLOAT[] is used.
+         * @return builder
+         */
+        public Builder dimension(Integer dimension) {
+            this.dimension = dimension;
+            return this;
+        }
+
+        /**
+         * @param hnswIndex HNSW index to create on the embedding column, with the vss extension. Requires a
+         *                  dimension. If not specified, every search scans the table.
+         * @return builder
+         */
+        public Builder hnswIndex(DuckDBHnswIndex hnswIndex) {
+            this.hnswIndex = hnswIndex;
+            return this;
+        }
+
+        /**
+         * @param fullTextIndex Full-text index to create on the text column, with the fts extension. Needed
+         *                      for {@link DuckDBEmbeddingStore#fullTextSearch(String, int, Filter)} and
+         *                      {@link DuckDBEmbeddingStore#hybridSearch(EmbeddingSearchRequest, String)}.
+         *                      If not specified, only vector search is available.
+         * @return builder
+         */
+        public Builder fullTextIndex(DuckDBFullTextIndex fullTextIndex) {
+            this.fullTextIndex = fullTextIndex;
+            return this;
+        }
+
+        /**
+         * @param metadataColumns Metadata keys to store in their own typed columns instead of the JSON metadata
+         *                        column, with the Java type of their values: String, UUID, Integer, Long, Float
+         *                        or Double. Filters on these keys compare the columns directly, so DuckDB can
+         *                        skip row groups with zone maps and read only the needed columns. Only applies
+         *                        when the table is created.
+         * @return builder
+         */
+        public Builder metadataColumns(Map<String, Class<?>> metadataColumns) {
+            this.metadataColumns = metadataColumns;
+            return this;
+        }
+
+        /**
+         * @param returnEmbeddings Whether search results include the embeddings. If false, the embedding column
+         *                         is not read and matches have no embedding. Default is true.
+         * @return builder
+         */
+        public Builder returnEmbeddings(boolean returnEmbeddings) {
+            this.returnEmbeddings = returnEmbeddings;
+            return this;
+        }
+
+        /**
+         * Reads search results through the DuckDB Arrow export, which copies embeddings from Arrow buffers
+         * into float arrays instead of boxing every value through JDBC arrays. Needs the optional
+         * org.apache.arrow:arrow-c-data, arrow-vector and arrow-memory-unsafe dependencies, and on Java 16+
+         * the JVM option --add-opens=java.base/java.nio=ALL-UNNAMED. Default is false.
+         *
+         * @param arrowResults Whether to read search results with Arrow
+         * @return builder
+         */
+        public Builder arrowResults(boolean arrowResults) {
+            this.arrowResults = arrowResults;
+            return this;
+        }
+
+        /**
+         * @param maxConnections Maximum number of connections duplicated from the database connection. Calls
+         *                       wait while all of them are in use. Default is 8.
+         * @return builder
+         */
+        public Builder maxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * @param statementCacheSize Number of prepared statements kept by each connection, to run again
+         *                           without preparing them. Statements with filter values or an HNSW query
+         *                           vector are never cached. Default is 32, and 0 disables the cache.
+         * @return builder
+         */
+        public Builder statementCacheSize(Integer statementCacheSize) {
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        /**
+         * @param threads DuckDB <code>threads</code> setting, the number of threads of the database. If not
+         *                specified, DuckDB uses the number of CPU cores.
+         * @return builder
+         */
+        public Builder threads(Integer threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * @param memoryLimit DuckDB <code>memory_limit</code> setting, for example "2GB". If not specified,
+         *                    DuckDB uses 80% of the RAM.
+         * @return builder
+         */
+        public Builder memoryLimit(String memoryLimit) {
+            this.memoryLimit = memoryLimit;
+            return this;
+        }
+
         /**
          * @param tableName The database table name to use. If not specified, "embeddings" will be used
          * @return builder
@@ -136,7 +496,7 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
         }
 
         public DuckDBEmbeddingStore build() {
-            return new DuckDBEmbeddingStore(filePath, tableName);
+            return new DuckDBEmbeddingStore(this);
         }
     }
 
@@ -171,13 +531,15 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
     public void removeAll(Collection<String> ids) {
         ensureNotEmpty(ids, "ids");
         String sql = format(DELETE_BY_IDS_QUERY_TEMPLATE, tableName);
-        try (var connection = duckDBConnection.duplicate();
-                var statement = connection.prepareStatement(sql)) {
-            var idsParam = connection.createArrayOf("UUID", ids.toArray());
+        try (var connection = connectionPool.acquire()) {
+            var statement = connection.prepareStatement(sql);
+            var idsParam = connection.connection().createArrayOf("UUID", ids.toArray());
             statement.setObject(1, idsParam);
             statement.execute();
         } catch (SQLException e) {
             throw new DuckDBSQLException("Unable to remove embeddings by ids", e);
+        } finally {
+            invalidateFullTextIndex();
         }
     }
 
@@ -186,64 +548,351 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
         ensureNotNull(filter, "filter");
         var whereClause = jsonFilterMapper.map(filter);
         String sql = format(DELETE_QUERY_TEMPLATE, tableName, whereClause);
-        try (var connection = duckDBConnection.duplicate();
-                var statement = connection.prepareStatement(sql)) {
+        try (var connection = connectionPool.acquire()) {
+            // Filters are formatted with their values, so the statement is not cached
+            var statement = connection.prepareUncached(sql);
             log.debug(sql);
             statement.execute();
         } catch (SQLException e) {
             throw new DuckDBSQLException("Unable to remove embeddings with filter", e);
+        } finally {
+            invalidateFullTextIndex();
         }
     }
 
     @Override
     public void removeAll() {
         var sql = format(TRUNCATE_QUERY_TEMPLATE, tableName);
-        try (var connection = duckDBConnection.duplicate();
-                var statement = connection.createStatement()) {
-            statement.execute(sql);
+        try (var connection = connectionPool.acquire()) {
+            connection.prepareStatement(sql).execute();
         } catch (SQLException e) {
             throw new DuckDBSQLException("Unable to remove all embeddings", e);
+        } finally {
+            invalidateFullTextIndex();
         }
     }
 
     @Override
     public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
-        var param = embeddingToParam(request.queryEmbedding());
-        var filterClause = request.filter() != null ? "and " + jsonFilterMapper.map(request.filter()) : "";
-        var query =
-                format(SEARCH_QUERY_TEMPLATE, param, tableName, request.minScore(), filterClause, request.maxResults());
+        try (var connection = connectionPool.acquire()) {
+            var statement = prepareSearch(connection, request, false);
+            try (var resultSet = statement.executeQuery()) {
+                return new EmbeddingSearchResult<>(readMatches(resultSet));
+            }
+        } catch (SQLException | IOException e) {
+            throw new DuckDBSQLException("Error while searching embeddings", e);
+        }
+    }
+
+    /**
+     * Explains the plan of the statement that searches for a request, for example to check that an
+     * unfiltered search scans the HNSW index.
+     *
+     * @param request search request
+     * @return the physical plan
+     */
+    String explainSearch(EmbeddingSearchRequest request) {
+        try (var connection = connectionPool.acquire()) {
+            var statement = prepareSearch(connection, request, true);
+            try (var resultSet = statement.executeQuery()) {
+                var plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(2)).append('\n');
+                }
+                return plan.toString();
+            }
+        } catch (SQLException e) {
+            throw new DuckDBSQLException("Error while explaining search", e);
+        }
+    }
 
-        try (var connection = duckDBConnection.duplicate();
-                var statement = connection.prepareStatement(query)) {
-            var matches = new ArrayList<EmbeddingMatch<TextSegment>>();
+    private PreparedStatement prepareSearch(
+            DuckDBConnectionPool.PooledConnection connection, EmbeddingSearchRequest request, boolean explain)
+            throws SQLException {
+        boolean useHnswIndex = hnswIndex != null && request.filter() == null;
+        String query;
+        if (useHnswIndex) {
+            query = format(
+                    HNSW_SEARCH_QUERY_TEMPLATE,
+                    vectorLiteral(request.queryEmbedding()),
+                    hnswIndex.getMetric().getDistanceFunction(),
+                    tableName,
+                    selectColumns,
+                    request.maxResults(),
+                    request.minScore());
+        } else {
+            var filterClause = request.filter() != null ? "and " + jsonFilterMapper.map(request.filter()) : "";
+            query = format(
+                    SEARCH_QUERY_TEMPLATE, selectColumns, similarityFunction, embeddingType, tableName, filterClause);
+        }
+        if (explain) {
+            query = "explain " + query;
+        }
 
+        // Vector literals and filter values make the SQL unique, so only cache statements without them
+        var statement = useHnswIndex || request.filter() != null || explain
+                ? connection.prepareUncached(query)
+                : connection.prepareStatement(query);
+        log.debug(query);
+        if (!useHnswIndex) {
+            // Bind the query vector, so that it is not formatted and parsed as a literal
+            statement.setObject(1, toSqlArray(connection.connection(), request.queryEmbedding()));
+            statement.setDouble(2, request.minScore());
+            statement.setInt(3, request.maxResults());
+        }
+        return statement;
+    }
+
+    /**
+     * Searches with several query embeddings at once, for example the expansions of one user query. Requests
+     * with the same filter are answered by one statement, which scans the table once for all of their query
+     * embeddings instead of once per request. Unfiltered requests to a store with an HNSW index are searched
+     * one by one, since the index is faster than a shared scan.
+     *
+     * @param requests search requests, with query embeddings of the same dimension
+     * @return the result of each request, in the order of the requests
+     */
+    public List<EmbeddingSearchResult<TextSegment>> searchAll(List<EmbeddingSearchRequest> requests) {
+        ensureNotNull(requests, "requests");
+        var results = new ArrayList<EmbeddingSearchResult<TextSegment>>(Collections.nCopies(requests.size(), null));
+        // Group requests by filter, since the filter is part of the statement
+        var requestsByFilter = new LinkedHashMap<Filter, List<Integer>>();
+        for (int i = 0; i < requests.size(); i++) {
+            requestsByFilter
+                    .computeIfAbsent(requests.get(i).filter(), ignored -> new ArrayList<>())
+                    .add(i);
+        }
+        requestsByFilter.forEach((filter, indexes) -> {
+            if (hnswIndex != null && filter == null) {
+                indexes.forEach(i -> results.set(i, search(requests.get(i))));
+            } else {
+                var batch = indexes.stream().map(requests::get).toList();
+                var batchResults = searchBatch(batch, filter);
+                for (int i = 0; i < indexes.size(); i++) {
+                    results.set(indexes.get(i), batchResults.get(i));
+                }
+            }
+        });
+        return results;
+    }
+
+    private List<EmbeddingSearchResult<TextSegment>> searchBatch(List<EmbeddingSearchRequest> requests, Filter filter) {
+        var scoreColumns = new StringBuilder();
+        var topK = new StringBuilder();
+        for (int i = 0; i < requests.size(); i++) {
+            scoreColumns.append(format(BATCH_SCORE_COLUMN_TEMPLATE, similarityFunction, embeddingType, i));
+            topK.append(i > 0 ? " union all " : "").append(format(BATCH_TOP_K_TEMPLATE, i));
+        }
+        var filterClause = filter != null ? "where " + jsonFilterMapper.map(filter) : "";
+        var query = format(
+                BATCH_SEARCH_QUERY_TEMPLATE, scoreColumns, tableName, filterClause, topK, selectColumns, tableName);
+
+        try (var connection = connectionPool.acquire()) {
+            var statement = filter != null ? connection.prepareUncached(query) : connection.prepareStatement(query);
             log.debug(query);
-            var resultSet = statement.executeQuery();
-            while (resultSet.next()) {
+            int parameterIndex = 1;
+            for (var request : requests) {
+                statement.setObject(parameterIndex++, toSqlArray(connection.connection(), request.queryEmbedding()));
+            }
+            for (var request : requests) {
+                statement.setDouble(parameterIndex++, request.minScore());
+                statement.setInt(parameterIndex++, request.maxResults());
+            }
+
+            var matchesByQuery = new ArrayList<List<EmbeddingMatch<TextSegment>>>();
+            for (int i = 0; i < requests.size(); i++) {
+                matchesByQuery.add(new ArrayList<>());
+            }
+            try (var resultSet = statement.executeQuery()) {
+                var rows = readRows(
+                        resultSet,
+                        true,
+                        (queryIndex, id, score, vector, text, metadataJson, metadataColumnValues) -> Map.entry(
+                                queryIndex, toMatch(id, score, vector, text, metadataJson, metadataColumnValues)));
+                // Rows are ordered by query and score
+                rows.forEach(row -> matchesByQuery.get(row.getKey()).add(row.getValue()));
+            }
+            return matchesByQuery.stream().map(EmbeddingSearchResult::new).toList();
+        } catch (SQLException | IOException e) {
+            throw new DuckDBSQLException("Error while searching embeddings", e);
+        }
+    }
+
+    /**
+     * Searches the text of the embeddings by BM25 relevance to the query. Scores are BM25 scores, which are not
+     * between 0 and 1. Needs a full-text index, see {@link Builder#fullTextIndex(DuckDBFullTextIndex)}.
+     *
+     * @param text       the query text
+     * @param maxResults the maximum number of matches
+     * @param filter     metadata filter, or null
+     * @return the matches, most relevant first
+     */
+    public EmbeddingSearchResult<TextSegment> fullTextSearch(String text, int maxResults, Filter filter) {
+        ensureNotBlank(text, "text");
+        ensureGreaterThanZero(maxResults, "maxResults");
+        refreshFullTextIndex();
+        var filterClause = filter != null ? "and " + jsonFilterMapper.map(filter) : "";
+        var query = format(
+                FULL_TEXT_SEARCH_QUERY_TEMPLATE,
+                selectColumns,
+                fullTextSchema,
+                stringLiteral(text),
+                fullTextIndex.getBm25Options(),
+                tableName,
+                filterClause);
+
+        try (var connection = connectionPool.acquire()) {
+            // The query text is a literal, so the statement is not cached
+            var statement = connection.prepareUncached(query);
+            log.debug(query);
+            statement.setInt(1, maxResults);
+            try (var resultSet = statement.executeQuery()) {
+                return new EmbeddingSearchResult<>(readMatches(resultSet));
+            }
+        } catch (SQLException | IOException e) {
+            throw new DuckDBSQLException("Error while searching embeddings by full text", e);
+        }
+    }
+
+    /**
+     * Searches by both embedding similarity and BM25 relevance of the text, in one statement, and fuses the
+     * two rankings by Reciprocal Rank Fusion. Each ranking contributes its top maxResults matches, the minimum
+     * score and the filter of the request apply to the embedding ranking, and the filter also applies to the
+     * full-text ranking. Scores are fused scores, which only order the matches. The embedding ranking always
+     * scans the table. Needs a full-text index, see {@link Builder#fullTextIndex(DuckDBFullTextIndex)}.
+     *
+     * @param request the embedding search request
+     * @param text    the query text, usually the text of the query embedding
+     * @return the matches, best first
+     */
+    public EmbeddingSearchResult<TextSegment> hybridSearch(EmbeddingSearchRequest request, String text) {
+        ensureNotNull(request, "request");
+        ensureNotBlank(text, "text");
+        refreshFullTextIndex();
+        var filterClause = request.filter() != null ? "and " + jsonFilterMapper.map(request.filter()) : "";
+        var query = format(
+                HYBRID_SEARCH_QUERY_TEMPLATE,
+                similarityFunction,
+                embeddingType,
+                tableName,
+                filterClause,
+                fullTextSchema,
+                stringLiteral(text),
+                fullTextIndex.getBm25Options(),
+                fullTextIndex.getRankConstant(),
+                selectColumns);
+
+        try (var connection = connectionPool.acquire()) {
+            // The query text is a literal, so the statement is not cached
+            var statement = connection.prepareUncached(query);
+            log.debug(query);
+            statement.setObject(1, toSqlArray(connection.connection(), request.queryEmbedding()));
+            statement.setDouble(2, request.minScore());
+            statement.setInt(3, request.maxResults());
+            statement.setInt(4, request.maxResults());
+            statement.setInt(5, request.maxResults());
+            try (var resultSet = statement.executeQuery()) {
+                return new EmbeddingSearchResult<>(readMatches(resultSet));
+            }
+        } catch (SQLException | IOException e) {
+            throw new DuckDBSQLException("Error while searching embeddings by hybrid search", e);
+        }
+    }
+
+    /**
+     * Rebuilds the full-text index if embeddings were added or removed since it was built. Searches do this
+     * when needed, so call it only to build the index ahead of the first search, for example after a load.
+     */
+    public void refreshFullTextIndex() {
+        ensureTrue(fullTextIndex != null, "full-text index is not enabled");
+        if (!fullTextIndexStale.get()) {
+            return;
+        }
+        synchronized (fullTextIndexStale) {
+            // Cleared before the rebuild, so that writes during the rebuild mark the index stale again
+            if (fullTextIndexStale.getAndSet(false)) {
+                try {
+                    createFullTextIndex();
+                } catch (RuntimeException e) {
+                    fullTextIndexStale.set(true);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void invalidateFullTextIndex() {
+        if (fullTextIndex != null) {
+            fullTextIndexStale.set(true);
+        }
+    }
 
-                var id = resultSet.getString("id");
-                var text = resultSet.getString("text");
-                var score = resultSet.getDouble("score");
-                var sqlArray = resultSet.getArray("embedding");
-                var metadataJson = resultSet.getString("metadata");
+    private static String stringLiteral(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
 
-                var typeReference = new TypeReference<HashMap<String, Object>>() {};
-                Map<String, ?> metadataMap = metadataJson != null
-                        ? jsonMetadataSerializer.readValue(metadataJson, typeReference)
-                        : Collections.emptyMap();
+    private List<EmbeddingMatch<TextSegment>> readMatches(ResultSet resultSet) throws SQLException, IOException {
+        return readRows(
+                resultSet,
+                false,
+                (queryIndex, id, score, vector, text, metadataJson, metadataColumnValues) ->
+                        toMatch(id, score, vector, text, metadataJson, metadataColumnValues));
+    }
 
-                var sqlList = (Object[]) sqlArray.getArray();
-                var vector = new float[sqlList.length];
+    private <T> List<T> readRows(
+            ResultSet resultSet, boolean withQueryIndex, DuckDBArrowResultReader.RowMapper<T> mapper)
+            throws SQLException, IOException {
+        if (arrowResultReader != null) {
+            return arrowResultReader.read((DuckDBResultSet) resultSet, mapper);
+        }
+        var rows = new ArrayList<T>();
+        while (resultSet.next()) {
+            var queryIndex = withQueryIndex ? resultSet.getInt("query_index") : 0;
+            var id = resultSet.getString("id");
+            var text = resultSet.getString("text");
+            var score = resultSet.getDouble("score");
+            var metadataJson = resultSet.getString("metadata");
+
+            float[] vector = null;
+            if (returnEmbeddings) {
+                var sqlList = (Object[]) resultSet.getArray("embedding").getArray();
+                vector = new float[sqlList.length];
                 for (int i = 0; i < sqlList.length; i++) {
                     vector[i] = (float) sqlList[i];
                 }
-                var ts = text != null ? TextSegment.from(text, Metadata.from(metadataMap)) : null;
-                matches.add(new EmbeddingMatch<>(score, id, new Embedding(vector), ts));
             }
-            return new EmbeddingSearchResult<>(matches);
-        } catch (SQLException | JsonProcessingException e) {
-            throw new DuckDBSQLException("Error while searching embeddings", e);
+
+            Map<String, Object> metadataColumnValues =
+                    metadataColumns.isEmpty() ? Collections.emptyMap() : new HashMap<>();
+            for (var column : metadataColumns.keySet()) {
+                var value = resultSet.getObject(column);
+                if (value != null) {
+                    metadataColumnValues.put(column, value);
+                }
+            }
+            rows.add(mapper.map(queryIndex, id, score, vector, text, metadataJson, metadataColumnValues));
+        }
+        return rows;
+    }
+
+    private EmbeddingMatch<TextSegment> toMatch(
+            String id,
+            double score,
+            float[] vector,
+            String text,
+            String metadataJson,
+            Map<String, Object> metadataColumnValues)
+            throws JsonProcessingException {
+        TextSegment textSegment = null;
+        if (text != null) {
+            var typeReference = new TypeReference<HashMap<String, Object>>() {};
+            Map<String, Object> metadataMap = metadataJson != null
+                    ? jsonMetadataSerializer.readValue(metadataJson, typeReference)
+                    : new HashMap<>();
+            metadataMap.putAll(metadataColumnValues);
+            textSegment = TextSegment.from(text, Metadata.from(metadataMap));
         }
+        return new EmbeddingMatch<>(score, id, vector != null ? new Embedding(vector) : null, textSegment);
     }
 
     private void addInternal(String id, Embedding embedding, TextSegment textSegment) {
@@ -252,44 +901,359 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
 
     @Override
     public void addAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
-        if (isNullOrEmpty(ids) || isNullOrEmpty(embeddings)) {
-            log.info("[no embeddings to add to DuckDB]");
+        if (!validateAddAll(ids, embeddings, embedded)) {
             return;
         }
-        ensureTrue(ids.size() == embeddings.size(), "ids size is not equal to embeddings size");
-        ensureTrue(
-                embedded == null || embeddings.size() == embedded.size(),
-                "embeddings size is not equal to embedded size");
 
-        try (var connection = duckDBConnection.duplicate();
-                var statement = connection.prepareStatement(format(INSERT_QUERY_TEMPLATE, tableName))) {
+        var parameters = ",?".repeat(metadataColumns.size());
+        var sql = format(INSERT_QUERY_TEMPLATE, tableName, metadataColumnList, parameters);
+        try (var connection = connectionPool.acquire()) {
+            var statement = connection.prepareStatement(sql);
             for (int i = 0; i < ids.size(); i++) {
-                String textParam = null;
-                if (embedded != null && embedded.get(i) != null) {
-                    textParam = embedded.get(i).text();
-                }
-                var metadata = embedded != null && embedded.get(i) != null
-                        ? embedded.get(i).metadata().toMap()
-                        : null;
+                var textSegment = embedded != null ? embedded.get(i) : null;
+                var metadata = textSegment != null ? textSegment.metadata().toMap() : null;
 
                 statement.setString(1, ids.get(i));
-                var embeddingsParam = connection.createArrayOf(
-                        "float", embeddings.get(i).vectorAsList().toArray());
-                statement.setObject(2, embeddingsParam);
-                statement.setString(3, textParam);
-                statement.setString(4, jsonMetadataSerializer.writeValueAsString(metadata));
+                statement.setObject(2, toSqlArray(connection.connection(), embeddings.get(i)));
+                statement.setString(3, textSegment != null ? textSegment.text() : null);
+                statement.setString(4, metadataJson(metadata));
+                int parameterIndex = 5;
+                for (var column : metadataColumns.entrySet()) {
+                    var value = metadataColumnValue(column, metadata);
+                    // UUIDs are bound as strings, which DuckDB casts to the UUID column
+                    statement.setObject(parameterIndex++, value instanceof UUID ? value.toString() : value);
+                }
                 statement.addBatch();
             }
             statement.executeBatch();
         } catch (SQLException | JsonProcessingException e) {
             throw new DuckDBSQLException("Unable to add embeddings in DuckDB", e);
+        } finally {
+            invalidateFullTextIndex();
+        }
+    }
+
+    /**
+     * Adds embeddings with the DuckDB appender, which writes rows straight into the table instead of binding
+     * and executing an insert statement per row. Vectors are appended from their primitive arrays. Use it to
+     * load large numbers of embeddings; rows are flushed in chunks, so a failure can leave part of them added.
+     *
+     * @param embeddings embeddings to add
+     * @param embedded   text segments of the embeddings, or null
+     * @return the generated ids of the embeddings
+     */
+    public List<String> bulkAddAll(List<Embedding> embeddings, List<TextSegment> embedded) {
+        List<String> ids = embeddings.stream().map(ignored -> randomUUID()).toList();
+        bulkAddAll(ids, embeddings, embedded);
+        return ids;
+    }
+
+    /**
+     * Adds embeddings with the DuckDB appender, see {@link #bulkAddAll(List, List)}. The appender writes the
+     * columns by position, so the table must have the columns of this store in the order it creates them:
+     * id, embedding, text, metadata, then the typed metadata columns sorted by name.
+     *
+     * @param ids        ids of the embeddings, which must be UUIDs
+     * @param embeddings embeddings to add
+     * @param embedded   text segments of the embeddings, or null
+     * @throws IllegalArgumentException if an id is not a UUID
+     * @throws DuckDBSQLException       if the columns of the table are not the columns of this store
+     */
+    public void bulkAddAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+        if (!validateAddAll(ids, embeddings, embedded)) {
+            return;
+        }
+        // Before opening the appender, which flushes the rows appended so far when it is closed
+        var uuids = new ArrayList<UUID>(ids.size());
+        for (var id : ids) {
+            try {
+                uuids.add(UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(format("bulkAddAll ids must be UUIDs, got '%s'", id), e);
+            }
+        }
+
+        var schemaAndTable = tableName.split("\\.", 2);
+        var schemaName = schemaAndTable.length == 2 ? schemaAndTable[0] : DuckDBConnection.DEFAULT_SCHEMA;
+        var appenderTableName = schemaAndTable[schemaAndTable.length - 1];
+        try (var connection = connectionPool.acquire()) {
+            if (!appenderColumnsChecked) {
+                checkAppenderColumns(connection, schemaName, appenderTableName);
+                appenderColumnsChecked = true;
+            }
+            appendRows(connection, schemaName, appenderTableName, uuids, embeddings, embedded);
+        } catch (SQLException | JsonProcessingException e) {
+            throw new DuckDBSQLException("Unable to bulk add embeddings in DuckDB", e);
+        } finally {
+            invalidateFullTextIndex();
+        }
+    }
+
+    private void appendRows(
+            DuckDBConnectionPool.PooledConnection connection,
+            String schemaName,
+            String appenderTableName,
+            List<UUID> ids,
+            List<Embedding> embeddings,
+            List<TextSegment> embedded)
+            throws SQLException, JsonProcessingException {
+        try (var appender = connection.connection().createAppender(schemaName, appenderTableName)) {
+            for (int i = 0; i < ids.size(); i++) {
+                var textSegment = embedded != null ? embedded.get(i) : null;
+                var metadata = textSegment != null ? textSegment.metadata().toMap() : null;
+                appender.beginRow();
+                appender.append(ids.get(i));
+                appender.append(checkedVector(embeddings.get(i)));
+                appender.append(textSegment != null ? textSegment.text() : null);
+                appender.append(metadataJson(metadata));
+                for (var column : metadataColumns.entrySet()) {
+                    appendMetadataValue(appender, metadataColumnValue(column, metadata));
+                }
+                appender.endRow();
+            }
+        }
+    }
+
+    /**
+     * Checks that the table has the columns of this store in the order the appender writes them. A table
+     * created by another version of the store, or with other typed metadata columns, would otherwise get
+     * values in the wrong columns, or fail with a type error in the middle of the rows.
+     */
+    private void checkAppenderColumns(
+            DuckDBConnectionPool.PooledConnection connection, String schemaName, String appenderTableName)
+            throws SQLException {
+        var expected = new ArrayList<>(List.of("id", "embedding", "text", "metadata"));
+        expected.addAll(metadataColumns.keySet());
+        var actual = new ArrayList<String>();
+        var statement = connection.prepareStatement(TABLE_COLUMNS_QUERY);
+        statement.setString(1, schemaName);
+        statement.setString(2, appenderTableName);
+        try (var resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                actual.add(resultSet.getString(1));
+            }
+        }
+        if (!actual.equals(expected)) {
+            throw new DuckDBSQLException(
+                    format(
+                            "Table '%s' has columns %s, but bulkAddAll appends columns %s in this order",
+                            tableName, actual, expected),
+                    null);
+        }
+    }
+
+    /**
+     * Writes all embeddings to a zstd-compressed Parquet file with <code>COPY</code>, with the columns of the
+     * table. The file can be imported into another store with {@link #importFrom(Path)}, to clone a store or
+     * to start one without embedding the documents again.
+     *
+     * @param path the Parquet file to write, which is replaced if it exists
+     * @return the number of exported embeddings
+     */
+    public long exportTo(Path path) {
+        ensureNotNull(path, "path");
+        var sql = format(EXPORT_PARQUET_TEMPLATE, tableName, stringLiteral(path.toString()));
+        try (var connection = connectionPool.acquire()) {
+            log.debug(sql);
+            return connection.prepareUncached(sql).executeLargeUpdate();
+        } catch (SQLException e) {
+            throw new DuckDBSQLException("Unable to export embeddings to Parquet", e);
+        }
+    }
+
+    /**
+     * Adds the embeddings of Parquet files written by {@link #exportTo(Path)}, or by any other tool with the
+     * same column names. DuckDB reads the files in parallel and inserts them in bulk, without converting rows
+     * to Java objects. The files need an <code>id</code> and an <code>embedding</code> column. Only the columns
+     * of this store are imported: typed metadata columns (see {@link Builder#metadataColumns(Map)}) that the
+     * files do not have are left null, and other columns of the files are ignored. Ids are not checked for
+     * duplicates.
+     * <p>
+     * With an HNSW index, the index is dropped and built again once all rows are inserted, which is faster
+     * than maintaining it for every row. A full-text index is built again too. The import is one transaction,
+     * so a failure leaves the store unchanged.
+     *
+     * @param path a Parquet file, a directory of Parquet files, or a glob pattern such as
+     *             <code>snapshots/*.parquet</code>
+     * @return the number of imported embeddings
+     */
+    public long importFrom(Path path) {
+        ensureNotNull(path, "path");
+        var files = Files.isDirectory(path) ? path.resolve("*.parquet") : path;
+        var source = stringLiteral(files.toString());
+        long count;
+        try (var connection = connectionPool.acquire();
+                var statement = connection.connection().createStatement()) {
+            var sql = format(IMPORT_PARQUET_TEMPLATE, tableName, importColumns(statement, source), source);
+            connection.connection().setAutoCommit(false);
+            try {
+                if (hnswIndex != null) {
+                    statement.execute(format(DROP_INDEX_TEMPLATE, hnswIndexName()));
+                }
+                log.debug(sql);
+                count = statement.executeLargeUpdate(sql);
+                if (hnswIndex != null) {
+                    statement.execute(format(
+                            CREATE_HNSW_INDEX_TEMPLATE, hnswIndexName(), tableName, hnswIndex.getIndexOptions()));
+                }
+                connection.connection().commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.connection().rollback();
+                throw e;
+            } finally {
+                connection.connection().setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DuckDBSQLException("Unable to import embeddings from Parquet", e);
+        } finally {
+            invalidateFullTextIndex();
+        }
+        if (fullTextIndex != null) {
+            refreshFullTextIndex();
+        }
+        return count;
+    }
+
+    /**
+     * Selects the columns of the Parquet files that the table of this store has, so that <code>insert by
+     * name</code> leaves missing typed metadata columns null instead of failing on extra columns.
+     */
+    private String importColumns(Statement statement, String source) throws SQLException {
+        var known = new HashSet<>(List.of("id", "embedding", "text", "metadata"));
+        metadataColumns.keySet().forEach(column -> known.add(column.toLowerCase(Locale.ROOT)));
+        var fileColumns = new ArrayList<String>();
+        try (var resultSet = statement.executeQuery(format(PARQUET_COLUMNS_TEMPLATE, source))) {
+            while (resultSet.next()) {
+                fileColumns.add(resultSet.getString("column_name"));
+            }
+        }
+        var columns = fileColumns.stream()
+                .filter(column -> known.contains(column.toLowerCase(Locale.ROOT)))
+                .toList();
+        var names = columns.stream().map(column -> column.toLowerCase(Locale.ROOT)).toList();
+        if (!names.contains("id") || !names.contains("embedding")) {
+            throw new DuckDBSQLException(
+                    format("Parquet files %s have columns %s, but need id and embedding columns", source, fileColumns),
+                    null);
+        }
+        return columns.stream().map(DuckDBMetadataFilterMapper::quoteIdentifier).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * @return the JSON of the metadata that is not in typed columns, or null if there is none
+     */
+    private String metadataJson(Map<String, Object> metadata) throws JsonProcessingException {
+        if (metadata == null) {
+            return null;
+        }
+        var jsonMetadata = metadata;
+        if (!metadataColumns.isEmpty()) {
+            jsonMetadata = new HashMap<>(metadata);
+            jsonMetadata.keySet().removeAll(metadataColumns.keySet());
+        }
+        return jsonMetadata.isEmpty() ? null : jsonMetadataSerializer.writeValueAsString(jsonMetadata);
+    }
+
+    /**
+     * Converts a metadata value to the Java type of its typed column, so that inserts and the appender store
+     * the same value: any value for a String column, a UUID or its string for a UUID column, and a number
+     * that fits without losing precision for a numeric column.
+     *
+     * @return the value for the column, or null if the metadata has no value for it
+     * @throws DuckDBSQLException if the value cannot be stored in the column
+     */
+    private static Object metadataColumnValue(Map.Entry<String, Class<?>> column, Map<String, Object> metadata) {
+        var value = metadata != null ? metadata.get(column.getKey()) : null;
+        var type = column.getValue();
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        try {
+            if (type == String.class) {
+                return value.toString();
+            } else if (type == UUID.class && value instanceof String string) {
+                return UUID.fromString(string);
+            } else if (type == Integer.class && isIntegral(value)) {
+                return Math.toIntExact(((Number) value).longValue());
+            } else if (type == Long.class && isIntegral(value)) {
+                return ((Number) value).longValue();
+            } else if (type == Float.class && value instanceof Number number) {
+                return number.floatValue();
+            } else if (type == Double.class && value instanceof Number number) {
+                return number.doubleValue();
+            }
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw invalidMetadataColumnValue(column, value, e);
         }
+        throw invalidMetadataColumnValue(column, value, null);
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    private static DuckDBSQLException invalidMetadataColumnValue(
+            Map.Entry<String, Class<?>> column, Object value, Exception cause) {
+        return new DuckDBSQLException(
+                format(
+                        "metadata '%s' has value '%s' of type %s, which cannot be stored in its %s column",
+                        column.getKey(),
+                        value,
+                        value.getClass().getSimpleName(),
+                        column.getValue().getSimpleName()),
+                cause);
+    }
+
+    private static void appendMetadataValue(DuckDBAppender appender, Object value) throws SQLException {
+        if (value == null) {
+            appender.appendNull();
+        } else if (value instanceof String string) {
+            appender.append(string);
+        } else if (value instanceof UUID uuid) {
+            appender.append(uuid);
+        } else if (value instanceof Integer integer) {
+            appender.append(integer.intValue());
+        } else if (value instanceof Long longValue) {
+            appender.append(longValue.longValue());
+        } else if (value instanceof Float floatValue) {
+            appender.append(floatValue.floatValue());
+        } else {
+            appender.append(((Double) value).doubleValue());
+        }
+    }
+
+    private static void validateMetadataColumn(String key, Class<?> type) {
+        ensureNotBlank(key, "metadata column");
+        ensureTrue(
+                !RESERVED_COLUMNS.contains(key.toLowerCase(Locale.ROOT)),
+                format("metadata column '%s' conflicts with a column of the store", key));
+        ensureTrue(
+                METADATA_COLUMN_TYPES.contains(type),
+                format("metadata column '%s' has unsupported type %s", key, type));
+    }
+
+    private boolean validateAddAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+        if (isNullOrEmpty(ids) || isNullOrEmpty(embeddings)) {
+            log.info("[no embeddings to add to DuckDB]");
+            return false;
+        }
+        ensureTrue(ids.size() == embeddings.size(), "ids size is not equal to embeddings size");
+        ensureTrue(
+                embedded == null || embeddings.size() == embedded.size(),
+                "embeddings size is not equal to embedded size");
+        return true;
     }
 
     private void initTable() {
-        var sql = format(CREATE_TABLE_TEMPLATE, tableName);
-        try (var connection = duckDBConnection.duplicate();
-                var statement = connection.createStatement()) {
+        var columnDefinitions = metadataColumns.entrySet().stream()
+                .map(column -> format(
+                        ", %s %s NULL",
+                        DuckDBMetadataFilterMapper.quoteIdentifier(column.getKey()),
+                        DuckDBMetadataFilterMapper.SQL_TYPE_MAP.get(column.getValue())))
+                .collect(Collectors.joining());
+        var sql = format(CREATE_TABLE_TEMPLATE, tableName, embeddingType, columnDefinitions);
+        try (var connection = connectionPool.acquire();
+                var statement = connection.connection().createStatement()) {
             log.debug(sql);
             statement.execute(sql);
         } catch (SQLException e) {
@@ -297,6 +1261,84 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
         }
     }
 
+    private void initFullTextIndex() {
+        try (var connection = connectionPool.acquire();
+                var statement = connection.connection().createStatement()) {
+            statement.execute("install fts");
+            statement.execute("load fts");
+        } catch (SQLException e) {
+            throw new DuckDBSQLException("Failed to load duckDB fts extension", e);
+        }
+        // Built by the first full-text or hybrid search
+        fullTextIndexStale.set(true);
+    }
+
+    private void createFullTextIndex() {
+        var sql = format(CREATE_FTS_INDEX_TEMPLATE, tableName, fullTextIndex.getIndexOptions());
+        try (var connection = connectionPool.acquire();
+                var statement = connection.connection().createStatement()) {
+            log.debug(sql);
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new DuckDBSQLException(format("Failed to create duckDB full-text index:  '%s'", sql), e);
+        }
+    }
+
+    private void initHnswIndex(boolean persistent) {
+        var sql = format(CREATE_HNSW_INDEX_TEMPLATE, hnswIndexName(), tableName, hnswIndex.getIndexOptions());
+        try (var connection = connectionPool.acquire();
+                var statement = connection.connection().createStatement()) {
+            statement.execute("install vss");
+            statement.execute("load vss");
+            if (persistent) {
+                statement.execute("set hnsw_enable_experimental_persistence = true");
+            }
+            log.debug(sql);
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new DuckDBSQLException(format("Failed to init duckDB HNSW index:  '%s'", sql), e);
+        }
+    }
+
+    private String hnswIndexName() {
+        return tableName.replace('.', '_') + "_hnsw_idx";
+    }
+
+    /**
+     * The HNSW index is only used when the query vector is a constant when the query is planned, and a
+     * prepared statement parameter is not, so the vector is inlined as a literal.
+     */
+    private String vectorLiteral(Embedding embedding) {
+        float[] vector = checkedVector(embedding);
+        var literal = new StringBuilder(vector.length * 12 + 16).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(vector[i]);
+        }
+        return literal.append("]::").append(embeddingType).toString();
+    }
+
+    private Array toSqlArray(Connection connection, Embedding embedding) throws SQLException {
+        checkedVector(embedding);
+        return connection.createArrayOf("float", embedding.vectorAsList().toArray());
+    }
+
+    private float[] checkedVector(Embedding embedding) {
+        float[] vector = embedding.vector();
+        if (dimension != null) {
+            ensureTrue(
+                    vector.length == dimension,
+                    format("embedding dimension %d is not equal to %d", vector.length, dimension));
+        }
+        return vector;
+    }
+
+    /**
+     * @deprecated The query embedding is now bound as a statement parameter, so this literal is no longer used
+     */
+    @Deprecated
     protected String embeddingToParam(Embedding embedding) {
         return embedding.vectorAsList().stream()
                 .map(Object::toString)
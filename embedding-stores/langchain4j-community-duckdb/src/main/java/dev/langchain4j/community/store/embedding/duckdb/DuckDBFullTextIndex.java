@@ -0,0 +1,165 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static dev.langchain4j.internal.ValidationUtils.ensureTrue;
+import static java.lang.String.format;
+
+import java.util.Locale;
+
+/**
+ * Full-text index on the text column, created with the DuckDB
+ * <a href="https://duckdb.org/docs/extensions/full_text_search">fts extension</a>, for BM25 keyword search and
+ * hybrid search.
+ * <p>
+ * The fts extension does not update the index when the table changes, so the store rebuilds it before the
+ * first full-text or hybrid search after embeddings were added or removed.
+ */
+public class DuckDBFullTextIndex {
+
+    private final String stemmer;
+    private final String stopwords;
+    private final String ignore;
+    private final boolean lower;
+    private final boolean stripAccents;
+    private final Double k1;
+    private final Double b;
+    private final Integer rankConstant;
+
+    private DuckDBFullTextIndex(Builder builder) {
+        this.stemmer = ensureNotBlank(builder.stemmer, "stemmer");
+        this.stopwords = ensureNotBlank(builder.stopwords, "stopwords");
+        this.ignore = ensureNotBlank(builder.ignore, "ignore");
+        this.lower = builder.lower;
+        this.stripAccents = builder.stripAccents;
+        this.k1 = ensureNotNull(builder.k1, "k1");
+        this.b = ensureNotNull(builder.b, "b");
+        ensureTrue(b >= 0 && b <= 1, "b must be between 0 and 1");
+        this.rankConstant = ensureGreaterThanZero(builder.rankConstant, "rankConstant");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the rank constant of Reciprocal Rank Fusion in hybrid searches
+     */
+    public int getRankConstant() {
+        return rankConstant;
+    }
+
+    /**
+     * @return the index options, for the arguments of the create_fts_index pragma
+     */
+    String getIndexOptions() {
+        return format(
+                "stemmer = %s, stopwords = %s, ignore = %s, lower = %d, strip_accents = %d, overwrite = 1",
+                quote(stemmer), quote(stopwords), quote(ignore), lower ? 1 : 0, stripAccents ? 1 : 0);
+    }
+
+    /**
+     * @return the BM25 parameters, for the arguments of match_bm25
+     */
+    String getBm25Options() {
+        return format(Locale.ROOT, "k := %s, b := %s", k1, b);
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    public static class Builder {
+        private String stemmer = "porter";
+        private String stopwords = "english";
+        private String ignore = "(\\\\.|[^a-z0-9])+";
+        private boolean lower = true;
+        private boolean stripAccents = true;
+        private Double k1 = 1.2;
+        private Double b = 0.75;
+        private Integer rankConstant = 60;
+
+        /**
+         * @param stemmer Snowball stemmer of the language, such as "english" or "german", or "none". Default is
+         *                "porter".
+         * @return builder
+         */
+        public Builder stemmer(String stemmer) {
+            this.stemmer = stemmer;
+            return this;
+        }
+
+        /**
+         * @param stopwords "english" for the built-in English stopwords, "none", or the name of a table with a
+         *                  single text column of stopwords. Default is "english".
+         * @return builder
+         */
+        public Builder stopwords(String stopwords) {
+            this.stopwords = stopwords;
+            return this;
+        }
+
+        /**
+         * @param ignore Regular expression of the characters that separate terms. Default is
+         *               <code>(\\.|[^a-z0-9])+</code>, which unlike the fts default keeps digits, so that
+         *               product codes and version numbers are searchable.
+         * @return builder
+         */
+        public Builder ignore(String ignore) {
+            this.ignore = ignore;
+            return this;
+        }
+
+        /**
+         * @param lower Whether to convert text to lowercase. Default is true.
+         * @return builder
+         */
+        public Builder lower(boolean lower) {
+            this.lower = lower;
+            return this;
+        }
+
+        /**
+         * @param stripAccents Whether to remove accents from text. Default is true.
+         * @return builder
+         */
+        public Builder stripAccents(boolean stripAccents) {
+            this.stripAccents = stripAccents;
+            return this;
+        }
+
+        /**
+         * @param k1 BM25 term frequency saturation. Default is 1.2.
+         * @return builder
+         */
+        public Builder k1(Double k1) {
+            this.k1 = k1;
+            return this;
+        }
+
+        /**
+         * @param b BM25 document length normalization, between 0 and 1. Default is 0.75.
+         * @return builder
+         */
+        public Builder b(Double b) {
+            this.b = b;
+            return this;
+        }
+
+        /**
+         * @param rankConstant Rank constant of Reciprocal Rank Fusion in hybrid searches, where a match scores
+         *                     1 / (rankConstant + rank) for every ranking it appears in. Higher values reduce
+         *                     the weight of top ranks. Default is 60.
+         * @return builder
+         */
+        public Builder rankConstant(Integer rankConstant) {
+            this.rankConstant = rankConstant;
+            return this;
+        }
+
+        public DuckDBFullTextIndex build() {
+            return new DuckDBFullTextIndex(this);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.lang.String.format;
+
+/**
+ * HNSW index on the embedding column, created with the DuckDB
+ * <a href="https://duckdb.org/docs/extensions/vss">vss extension</a>.
+ * <p>
+ * Unfiltered searches use the index for the top-k, instead of scanning and sorting the whole table.
+ * Searches with a metadata filter still scan the table, since filtering an approximate top-k could miss matches.
+ * The index needs fixed-size embeddings, see {@link DuckDBEmbeddingStore.Builder#dimension(Integer)}.
+ */
+public class DuckDBHnswIndex {
+
+    private final DuckDBDistanceMetric metric;
+    private final Integer m;
+    private final Integer efConstruction;
+    private final Integer efSearch;
+    private final boolean experimentalPersistence;
+
+    private DuckDBHnswIndex(Builder builder) {
+        this.metric = ensureNotNull(builder.metric, "metric");
+        this.m = ensureGreaterThanZero(builder.m, "m");
+        this.efConstruction = ensureGreaterThanZero(builder.efConstruction, "efConstruction");
+        this.efSearch = ensureGreaterThanZero(builder.efSearch, "efSearch");
+        this.experimentalPersistence = builder.experimentalPersistence;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the distance metric of the index
+     */
+    public DuckDBDistanceMetric getMetric() {
+        return metric;
+    }
+
+    /**
+     * @return whether the index may be persisted in a file-backed database
+     */
+    public boolean isExperimentalPersistence() {
+        return experimentalPersistence;
+    }
+
+    /**
+     * @return the index options, for the WITH clause of CREATE INDEX
+     */
+    String getIndexOptions() {
+        return format(
+                "(metric = '%s', M = %d, ef_construction = %d, ef_search = %d)",
+                metric.getMetric(), m, efConstruction, efSearch);
+    }
+
+    public static class Builder {
+        private DuckDBDistanceMetric metric = DuckDBDistanceMetric.COSINE;
+        private Integer m = 16;
+        private Integer efConstruction = 128;
+        private Integer efSearch = 64;
+        private boolean experimentalPersistence;
+
+        /**
+         * @param metric Distance metric of the index. Scores are always cosine similarity, so for metrics other
+         *               than cosine the order can differ from the score order unless embeddings are normalized.
+         *               Default is cosine.
+         * @return builder
+         */
+        public Builder metric(DuckDBDistanceMetric metric) {
+            this.metric = metric;
+            return this;
+        }
+
+        /**
+         * @param m Maximum number of neighbors of a node in the graph. Default is 16.
+         * @return builder
+         */
+        public Builder m(Integer m) {
+            this.m = m;
+            return this;
+        }
+
+        /**
+         * @param efConstruction Number of candidates considered while building the graph. Default is 128.
+         * @return builder
+         */
+        public Builder efConstruction(Integer efConstruction) {
+            this.efConstruction = efConstruction;
+            return this;
+        }
+
+        /**
+         * @param efSearch Number of candidates considered while searching. Higher values improve recall at the
+         *                 cost of latency. Default is 64.
+         * @return builder
+         */
+        public Builder efSearch(Integer efSearch) {
+            this.efSearch = efSearch;
+            return this;
+        }
+
+        /**
+         * The vss extension only persists HNSW indexes in a file-backed database when its experimental
+         * persistence is enabled. The index is kept in memory and written at checkpoints, and a crash can leave
+         * it inconsistent with the table. Not needed for in-memory databases.
+         *
+         * @param experimentalPersistence Whether to enable experimental persistence of the index
+         * @return builder
+         */
+        public Builder experimentalPersistence(boolean experimentalPersistence) {
+            this.experimentalPersistence = experimentalPersistence;
+            return this;
+        }
+
+        public DuckDBHnswIndex build() {
+            return new DuckDBHnswIndex(this);
+        }
+    }
+}
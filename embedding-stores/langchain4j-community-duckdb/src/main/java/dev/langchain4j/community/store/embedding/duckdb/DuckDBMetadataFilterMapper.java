@@ -10,6 +10,7 @@ import dev.langchain4j.store.embedding.filter.logical.Or;
 import java.util.AbstractMap;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,6 +28,19 @@ public class DuckDBMetadataFilterMapper {
                     new AbstractMap.SimpleEntry<>(Object.class, "text"))
             .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
 
+    private final Set<String> columnKeys;
+
+    public DuckDBMetadataFilterMapper() {
+        this(Set.of());
+    }
+
+    /**
+     * @param columnKeys Metadata keys stored in their own typed columns, which filters compare directly
+     */
+    public DuckDBMetadataFilterMapper(Set<String> columnKeys) {
+        this.columnKeys = Set.copyOf(columnKeys);
+    }
+
     public String map(Filter filter) {
         if (filter instanceof IsEqualTo eq) {
             return mapEqual(eq);
@@ -100,10 +114,17 @@ public class DuckDBMetadataFilterMapper {
     }
 
     private String mapIn(IsIn isIn) {
+        if (columnKeys.contains(isIn.key())) {
+            return format("%s in %s", quoteIdentifier(isIn.key()), formatValues(isIn.comparisonValues()));
+        }
         return format("%s in %s", formatKeyAsString(isIn.key()), formatValuesAsString(isIn.comparisonValues()));
     }
 
     private String mapNotIn(IsNotIn isNotIn) {
+        if (columnKeys.contains(isNotIn.key())) {
+            String key = quoteIdentifier(isNotIn.key());
+            return format("%s is null or %s not in %s", key, key, formatValues(isNotIn.comparisonValues()));
+        }
         String key = formatKeyAsString(isNotIn.key());
         return format("%s is null or %s not in %s", key, key, formatValuesAsString(isNotIn.comparisonValues()));
     }
@@ -121,6 +142,10 @@ public class DuckDBMetadataFilterMapper {
     }
 
     String formatKey(String key, Class<?> valueType) {
+        if (columnKeys.contains(key)) {
+            // Typed column, compared without extracting and casting, so that DuckDB can use zone maps
+            return quoteIdentifier(key);
+        }
         return format("(metadata->>'%s')::%s", key, SQL_TYPE_MAP.get(valueType));
     }
 
@@ -136,6 +161,14 @@ public class DuckDBMetadataFilterMapper {
         }
     }
 
+    String formatValues(Collection<?> values) {
+        return "(" + values.stream().map(this::formatValue).collect(Collectors.joining(",")) + ")";
+    }
+
+    static String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
     String formatValuesAsString(Collection<?> values) {
         return "(" + values.stream().map(v -> format("'%s'", v)).collect(Collectors.joining(",")) + ")";
     }
@@ -0,0 +1,82 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.embedding.onnx.allminilml6v2q.AllMiniLmL6V2QuantizedEmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.util.List;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class DuckDBEmbeddingStoreBatchSearchIT {
+
+    EmbeddingModel embeddingModel = new AllMiniLmL6V2QuantizedEmbeddingModel();
+
+    @ParameterizedTest
+    @CsvSource({",false", ",true", "384,false", "384,true"})
+    void should_return_same_matches_as_single_searches(Integer dimension, boolean arrowResults) {
+        DuckDBEmbeddingStore embeddingStore = DuckDBEmbeddingStore.builder()
+                .dimension(dimension)
+                .arrowResults(arrowResults)
+                .build();
+        List<TextSegment> segments = List.of(
+                segment("cats are small", "pets"),
+                segment("dogs are loyal", "pets"),
+                segment("lions hunt at night", "wild"),
+                segment("wolves live in packs", "wild"),
+                segment("the stock market fell", "news"));
+        embeddingStore.addAll(embeddingModel.embedAll(segments).content(), segments);
+
+        Filter wild = metadataKey("category").isEqualTo("wild");
+        List<EmbeddingSearchRequest> requests = List.of(
+                request("cats", 3, 0.0, null),
+                request("wolves", 5, 0.0, wild),
+                request("finance", 2, 0.0, null),
+                request("dogs", 5, 0.6, null),
+                request("lions", 1, 0.0, wild),
+                request("nothing matches this", 5, 0.99, null));
+
+        List<EmbeddingSearchResult<TextSegment>> results = embeddingStore.searchAll(requests);
+
+        assertThat(results).hasSize(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            List<EmbeddingMatch<TextSegment>> expected =
+                    embeddingStore.search(requests.get(i)).matches();
+            List<EmbeddingMatch<TextSegment>> actual = results.get(i).matches();
+            assertThat(actual).hasSameSizeAs(expected);
+            for (int j = 0; j < expected.size(); j++) {
+                assertThat(actual.get(j).embeddingId())
+                        .isEqualTo(expected.get(j).embeddingId());
+                assertThat(actual.get(j).score()).isCloseTo(expected.get(j).score(), within(1e-6));
+                assertThat(actual.get(j).embedded()).isEqualTo(expected.get(j).embedded());
+                assertThat(actual.get(j).embedding()).isEqualTo(expected.get(j).embedding());
+            }
+        }
+        assertThat(results.get(1).matches())
+                .allMatch(match -> "wild".equals(match.embedded().metadata().getString("category")));
+        assertThat(results.get(5).matches()).isEmpty();
+    }
+
+    private EmbeddingSearchRequest request(String query, int maxResults, double minScore, Filter filter) {
+        Embedding queryEmbedding = embeddingModel.embed(query).content();
+        return EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .maxResults(maxResults)
+                .minScore(minScore)
+                .filter(filter)
+                .build();
+    }
+
+    private static TextSegment segment(String text, String category) {
+        return TextSegment.from(text, new Metadata().put("category", category));
+    }
+}
@@ -0,0 +1,83 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.internal.Utils.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.embedding.onnx.allminilml6v2q.AllMiniLmL6V2QuantizedEmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.EmbeddingStoreWithFilteringIT;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Runs the embedding store tests with every insert going through the appender.
+ */
+class DuckDBEmbeddingStoreBulkIT extends EmbeddingStoreWithFilteringIT {
+
+    EmbeddingModel embeddingModel = new AllMiniLmL6V2QuantizedEmbeddingModel();
+
+    EmbeddingStore<TextSegment> embeddingStore = new DuckDBEmbeddingStore(null, null, 384) {
+        @Override
+        public void addAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+            bulkAddAll(ids, embeddings, embedded);
+        }
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_reject_ids_that_are_not_uuids() {
+        var store = (DuckDBEmbeddingStore) embeddingStore;
+        var embedding = embeddingModel.embed("cats").content();
+
+        assertThatThrownBy(() -> store.bulkAddAll(
+                        List.of(randomUUID(), "not-a-uuid"), List.of(embedding, embedding), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must be UUIDs");
+        assertThat(store.search(EmbeddingSearchRequest.builder()
+                                .queryEmbedding(embedding)
+                                .build())
+                        .matches())
+                .isEmpty();
+    }
+
+    @Test
+    void should_reject_table_with_other_columns() throws Exception {
+        var filePath = tempDir.resolve("embeddings.db").toString();
+        // Creates the table with a typed column
+        DuckDBEmbeddingStore.builder()
+                .filePath(filePath)
+                .metadataColumns(Map.of("year", Integer.class))
+                .build()
+                .close();
+
+        try (var store = DuckDBEmbeddingStore.builder().filePath(filePath).build()) {
+            var embedding = embeddingModel.embed("cats").content();
+            assertThatThrownBy(() -> store.bulkAddAll(List.of(embedding), null))
+                    .isInstanceOf(DuckDBSQLException.class)
+                    .hasMessageContaining("[id, embedding, text, metadata, year]");
+        }
+    }
+
+    protected EmbeddingStore<TextSegment> embeddingStore() {
+        return embeddingStore;
+    }
+
+    protected EmbeddingModel embeddingModel() {
+        return embeddingModel;
+    }
+
+    @Override
+    protected void clearStore() {
+        embeddingStore().removeAll();
+    }
+}
@@ -0,0 +1,58 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.embedding.onnx.allminilml6v2q.AllMiniLmL6V2QuantizedEmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DuckDBEmbeddingStoreConnectionPoolIT {
+
+    EmbeddingModel embeddingModel = new AllMiniLmL6V2QuantizedEmbeddingModel();
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 32})
+    void should_search_and_add_concurrently_with_fewer_connections_than_callers(int statementCacheSize)
+            throws Exception {
+        List<String> texts = List.of("cats", "dogs", "birds", "fish");
+        List<Embedding> embeddings =
+                texts.stream().map(text -> embeddingModel.embed(text).content()).toList();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (DuckDBEmbeddingStore embeddingStore = DuckDBEmbeddingStore.builder()
+                .maxConnections(2)
+                .statementCacheSize(statementCacheSize)
+                .threads(2)
+                .memoryLimit("512MB")
+                .build()) {
+            List<Future<List<EmbeddingMatch<TextSegment>>>> searches = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                int index = i % texts.size();
+                embeddingStore.add(embeddings.get(index), TextSegment.from(texts.get(index)));
+                searches.add(executor.submit(() -> embeddingStore
+                        .search(EmbeddingSearchRequest.builder()
+                                .queryEmbedding(embeddings.get(index))
+                                .maxResults(1)
+                                .build())
+                        .matches()));
+            }
+
+            for (int i = 0; i < searches.size(); i++) {
+                List<EmbeddingMatch<TextSegment>> matches = searches.get(i).get();
+                assertThat(matches).hasSize(1);
+                assertThat(matches.get(0).embedded().text()).isEqualTo(texts.get(i % texts.size()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.embedding.onnx.allminilml6v2q.AllMiniLmL6V2QuantizedEmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DuckDBEmbeddingStoreFullTextIT {
+
+    EmbeddingModel embeddingModel = new AllMiniLmL6V2QuantizedEmbeddingModel();
+
+    DuckDBEmbeddingStore embeddingStore;
+
+    @BeforeAll
+    static void ftsExtensionAvailable() {
+        // The fts extension is downloaded on first use
+        try (var connection = DriverManager.getConnection("jdbc:duckdb:");
+                var statement = connection.createStatement()) {
+            statement.execute("install fts");
+        } catch (SQLException e) {
+            assumeTrue(false, "fts extension is not available: " + e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void createStore() {
+        embeddingStore = DuckDBEmbeddingStore.builder()
+                .fullTextIndex(DuckDBFullTextIndex.builder().build())
+                .build();
+        add("Replacement filter cartridge XK-4711 for the kitchen tap", "parts");
+        add("How to descale a kettle with vinegar", "guides");
+        add("Our kitchen taps come with a ten year warranty", "sales");
+        add("Replacement hose XK-9000 for garden taps", "parts");
+    }
+
+    @Test
+    void should_find_keywords_by_full_text_search() {
+        List<String> texts = texts(embeddingStore.fullTextSearch("XK-4711", 10, null));
+
+        assertThat(texts).first().asString().contains("XK-4711");
+    }
+
+    @Test
+    void should_filter_full_text_search() {
+        List<String> texts = texts(embeddingStore.fullTextSearch(
+                "kitchen", 10, metadataKey("category").isEqualTo("sales")));
+
+        assertThat(texts).containsExactly("Our kitchen taps come with a ten year warranty");
+    }
+
+    @Test
+    void should_refresh_index_after_changes() {
+        add("Gasket XK-1234 for pressure cookers", "parts");
+
+        assertThat(texts(embeddingStore.fullTextSearch("gasket", 10, null)))
+                .containsExactly("Gasket XK-1234 for pressure cookers");
+
+        embeddingStore.removeAll(metadataKey("category").isEqualTo("parts"));
+
+        assertThat(embeddingStore.fullTextSearch("gasket", 10, null).matches()).isEmpty();
+    }
+
+    @Test
+    void should_fuse_vector_and_full_text_rankings() {
+        String query = "filter cartridge XK-4711";
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embeddingModel.embed(query).content())
+                .maxResults(2)
+                .build();
+
+        List<EmbeddingMatch<TextSegment>> matches =
+                embeddingStore.hybridSearch(request, query).matches();
+
+        assertThat(matches).hasSize(2);
+        assertThat(matches.get(0).embedded().text()).contains("XK-4711");
+        // Ranked first by both, so it scores twice the reciprocal rank of the top match
+        assertThat(matches.get(0).score()).isCloseTo(2.0 / 61, within(1e-9));
+    }
+
+    private void add(String text, String category) {
+        TextSegment segment = TextSegment.from(text, new Metadata().put("category", category));
+        embeddingStore.add(embeddingModel.embed(segment).content(), segment);
+    }
+
+    private static List<String> texts(EmbeddingSearchResult<TextSegment> result) {
+        return result.matches().stream().map(match -> match.embedded().text()).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.embedding.onnx.allminilml6v2q.AllMiniLmL6V2QuantizedEmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.EmbeddingStoreWithFilteringIT;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class DuckDBEmbeddingStoreHnswIT extends EmbeddingStoreWithFilteringIT {
+
+    EmbeddingModel embeddingModel = new AllMiniLmL6V2QuantizedEmbeddingModel();
+
+    DuckDBEmbeddingStore embeddingStore = DuckDBEmbeddingStore.builder()
+            .dimension(384)
+            .hnswIndex(DuckDBHnswIndex.builder().build())
+            .build();
+
+    @BeforeAll
+    static void vssExtensionAvailable() {
+        // The vss extension is downloaded on first use
+        try (var connection = DriverManager.getConnection("jdbc:duckdb:");
+                var statement = connection.createStatement()) {
+            statement.execute("install vss");
+        } catch (SQLException e) {
+            assumeTrue(false, "vss extension is not available: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void should_scan_hnsw_index_for_unfiltered_search() {
+        embeddingStore.add(embeddingModel.embed("hello").content());
+        var request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embeddingModel.embed("hi").content())
+                .maxResults(3)
+                .build();
+
+        assertThat(embeddingStore.explainSearch(request)).contains("HNSW_INDEX_SCAN");
+    }
+
+    protected EmbeddingStore<TextSegment> embeddingStore() {
+        return embeddingStore;
+    }
+
+    protected EmbeddingModel embeddingModel() {
+        return embeddingModel;
+    }
+
+    @Override
+    protected void clearStore() {
+        embeddingStore().removeAll();
+    }
+}
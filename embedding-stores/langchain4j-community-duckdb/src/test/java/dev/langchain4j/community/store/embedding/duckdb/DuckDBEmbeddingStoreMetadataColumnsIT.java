@@ -0,0 +1,136 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.embedding.onnx.allminilml6v2q.AllMiniLmL6V2QuantizedEmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DuckDBEmbeddingStoreMetadataColumnsIT {
+
+    EmbeddingModel embeddingModel = new AllMiniLmL6V2QuantizedEmbeddingModel();
+
+    DuckDBEmbeddingStore embeddingStore;
+
+    @ParameterizedTest
+    @CsvSource({"false,false", "true,false", "false,true", "true,true"})
+    void should_store_filter_and_read_typed_metadata_columns(boolean bulk, boolean arrowResults) {
+        embeddingStore = DuckDBEmbeddingStore.builder()
+                .metadataColumns(Map.of("tenant_id", String.class, "year", Integer.class))
+                .arrowResults(arrowResults)
+                .build();
+        List<TextSegment> segments = List.of(
+                segment("cats", "acme", 2020, "blue"),
+                segment("dogs", "acme", 2023, "red"),
+                segment("cats and dogs", "globex", 2023, null));
+        List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+        if (bulk) {
+            embeddingStore.bulkAddAll(embeddings, segments);
+        } else {
+            embeddingStore.addAll(embeddings, segments);
+        }
+
+        assertThat(texts(metadataKey("tenant_id").isEqualTo("acme"))).containsExactlyInAnyOrder("cats", "dogs");
+        assertThat(texts(metadataKey("year").isGreaterThan(2021))).containsExactlyInAnyOrder("dogs", "cats and dogs");
+        assertThat(texts(metadataKey("year").isIn(2020, 2021))).containsExactly("cats");
+        assertThat(texts(metadataKey("tenant_id").isNotIn("acme"))).containsExactly("cats and dogs");
+        assertThat(texts(metadataKey("tenant_id")
+                        .isEqualTo("acme")
+                        .and(metadataKey("color").isEqualTo("red"))))
+                .containsExactly("dogs");
+
+        Metadata metadata =
+                search(metadataKey("year").isEqualTo(2020)).get(0).embedded().metadata();
+        assertThat(metadata.getString("tenant_id")).isEqualTo("acme");
+        assertThat(metadata.toMap().get("year")).isEqualTo(2020);
+        assertThat(metadata.getString("color")).isEqualTo("blue");
+
+        embeddingStore.removeAll(metadataKey("tenant_id").isEqualTo("globex"));
+        assertThat(texts(null)).containsExactlyInAnyOrder("cats", "dogs");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void should_convert_metadata_values_to_column_types(boolean bulk) {
+        embeddingStore = DuckDBEmbeddingStore.builder()
+                .metadataColumns(Map.of("count", Long.class, "ref", UUID.class))
+                .build();
+        UUID ref = UUID.randomUUID();
+        TextSegment segment = TextSegment.from("cats", new Metadata().put("count", 5).put("ref", ref.toString()));
+        List<Embedding> embeddings = List.of(embeddingModel.embed(segment).content());
+        if (bulk) {
+            embeddingStore.bulkAddAll(embeddings, List.of(segment));
+        } else {
+            embeddingStore.addAll(embeddings, List.of(segment));
+        }
+
+        Metadata metadata = search(metadataKey("count").isEqualTo(5L)).get(0).embedded().metadata();
+        assertThat(metadata.getLong("count")).isEqualTo(5L);
+        assertThat(metadata.getUUID("ref")).isEqualTo(ref);
+
+        TextSegment invalid = TextSegment.from("dogs", new Metadata().put("count", "five"));
+        List<Embedding> invalidEmbeddings = List.of(embeddingModel.embed(invalid).content());
+        assertThatThrownBy(() -> {
+                    if (bulk) {
+                        embeddingStore.bulkAddAll(invalidEmbeddings, List.of(invalid));
+                    } else {
+                        embeddingStore.addAll(invalidEmbeddings, List.of(invalid));
+                    }
+                })
+                .isInstanceOf(DuckDBSQLException.class)
+                .hasMessageContaining("'count'");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void should_not_return_embeddings(boolean arrowResults) {
+        embeddingStore = DuckDBEmbeddingStore.builder()
+                .returnEmbeddings(false)
+                .arrowResults(arrowResults)
+                .build();
+        TextSegment segment = TextSegment.from("cats", new Metadata().put("color", "blue"));
+        String id = embeddingStore.add(embeddingModel.embed(segment).content(), segment);
+
+        List<EmbeddingMatch<TextSegment>> matches = search(null);
+
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).embeddingId()).isEqualTo(id);
+        assertThat(matches.get(0).embedding()).isNull();
+        assertThat(matches.get(0).embedded()).isEqualTo(segment);
+    }
+
+    private TextSegment segment(String text, String tenantId, int year, String color) {
+        Metadata metadata = new Metadata().put("tenant_id", tenantId).put("year", year);
+        if (color != null) {
+            metadata.put("color", color);
+        }
+        return TextSegment.from(text, metadata);
+    }
+
+    private List<EmbeddingMatch<TextSegment>> search(Filter filter) {
+        return embeddingStore
+                .search(EmbeddingSearchRequest.builder()
+                        .queryEmbedding(embeddingModel.embed("cats").content())
+                        .filter(filter)
+                        .maxResults(10)
+                        .build())
+                .matches();
+    }
+
+    private List<String> texts(Filter filter) {
+        return search(filter).stream().map(match -> match.embedded().text()).toList();
+    }
+}
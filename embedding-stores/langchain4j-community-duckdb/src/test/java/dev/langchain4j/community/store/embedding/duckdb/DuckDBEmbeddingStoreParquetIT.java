@@ -0,0 +1,139 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.embedding.onnx.allminilml6v2q.AllMiniLmL6V2QuantizedEmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DuckDBEmbeddingStoreParquetIT {
+
+    EmbeddingModel embeddingModel = new AllMiniLmL6V2QuantizedEmbeddingModel();
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void should_export_and_import_embeddings(boolean fixedSize) {
+        DuckDBEmbeddingStore source = store(fixedSize);
+        add(source, "cats", "acme", 2020);
+        add(source, "dogs", "acme", 2023);
+        add(source, "stock market", "globex", 2023);
+        Path file = tempDir.resolve("embeddings.parquet");
+
+        assertThat(source.exportTo(file)).isEqualTo(3);
+        assertThat(file).isRegularFile();
+
+        DuckDBEmbeddingStore target = store(fixedSize);
+        assertThat(target.importFrom(file)).isEqualTo(3);
+
+        assertThat(search(target, null)).usingRecursiveComparison().isEqualTo(search(source, null));
+        Filter filter = metadataKey("year").isEqualTo(2023);
+        assertThat(search(target, filter)).usingRecursiveComparison().isEqualTo(search(source, filter));
+    }
+
+    @Test
+    void should_import_directory_of_files() {
+        DuckDBEmbeddingStore first = store(true);
+        add(first, "cats", "acme", 2020);
+        DuckDBEmbeddingStore second = store(true);
+        add(second, "dogs", "acme", 2023);
+        add(second, "birds", "globex", 2021);
+        first.exportTo(tempDir.resolve("first.parquet"));
+        second.exportTo(tempDir.resolve("second.parquet"));
+
+        DuckDBEmbeddingStore target = store(true);
+
+        assertThat(target.importFrom(tempDir)).isEqualTo(3);
+        assertThat(search(target, null))
+                .extracting(match -> match.embedded().text())
+                .containsExactlyInAnyOrder("cats", "dogs", "birds");
+    }
+
+    @Test
+    void should_leave_store_unchanged_when_import_fails() throws Exception {
+        DuckDBEmbeddingStore target = store(true);
+        add(target, "cats", "acme", 2020);
+        Path file = tempDir.resolve("other.parquet");
+        DuckDBEmbeddingStore.builder().build().exportTo(file);
+        Files.writeString(tempDir.resolve("broken.parquet"), "not parquet");
+
+        assertThatThrownBy(() -> target.importFrom(tempDir)).isInstanceOf(DuckDBSQLException.class);
+        assertThat(search(target, null)).hasSize(1);
+    }
+
+    @Test
+    void should_leave_missing_metadata_columns_null() {
+        DuckDBEmbeddingStore source = store(true);
+        add(source, "cats", "acme", 2020);
+        Path file = tempDir.resolve("embeddings.parquet");
+        source.exportTo(file);
+
+        DuckDBEmbeddingStore target = DuckDBEmbeddingStore.builder()
+                .dimension(384)
+                .metadataColumns(Map.of("year", Integer.class, "rating", Double.class))
+                .build();
+
+        assertThat(target.importFrom(file)).isEqualTo(1);
+        List<EmbeddingMatch<TextSegment>> matches = search(target, metadataKey("year").isEqualTo(2020));
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).embedded().metadata().containsKey("rating")).isFalse();
+    }
+
+    @Test
+    void should_ignore_extra_columns() {
+        DuckDBEmbeddingStore source = DuckDBEmbeddingStore.builder()
+                .dimension(384)
+                .metadataColumns(Map.of("year", Integer.class, "rating", Double.class))
+                .build();
+        add(source, "cats", "acme", 2020);
+        Path file = tempDir.resolve("embeddings.parquet");
+        source.exportTo(file);
+
+        DuckDBEmbeddingStore target = store(true);
+
+        assertThat(target.importFrom(file)).isEqualTo(1);
+        assertThat(search(target, metadataKey("year").isEqualTo(2020)))
+                .extracting(match -> match.embedded().text())
+                .containsExactly("cats");
+    }
+
+    private DuckDBEmbeddingStore store(boolean fixedSize) {
+        return DuckDBEmbeddingStore.builder()
+                .dimension(fixedSize ? 384 : null)
+                .metadataColumns(Map.of("year", Integer.class))
+                .build();
+    }
+
+    private void add(DuckDBEmbeddingStore store, String text, String tenantId, int year) {
+        TextSegment segment =
+                TextSegment.from(text, new Metadata().put("tenant_id", tenantId).put("year", year));
+        Embedding embedding = embeddingModel.embed(segment).content();
+        store.add(embedding, segment);
+    }
+
+    private List<EmbeddingMatch<TextSegment>> search(DuckDBEmbeddingStore store, Filter filter) {
+        return store.search(EmbeddingSearchRequest.builder()
+                        .queryEmbedding(embeddingModel.embed("pets").content())
+                        .filter(filter)
+                        .maxResults(10)
+                        .build())
+                .matches();
+    }
+}